@@ -1,15 +1,53 @@
 package com.playschool.management.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import com.playschool.management.service.location.SessionBackpressureManager;
+import com.playschool.management.service.location.TileFrameConflationInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private static final Logger log = LoggerFactory.getLogger(WebSocketConfig.class);
+
+    // Upper bound on frames processed at once per client channel when running on virtual threads
+    @Value("${websocket.channel.concurrency-limit:256}")
+    private int channelConcurrencyLimit;
+
+    // Server heartbeat interval, and the interval the server expects from clients; 0 disables
+    @Value("${websocket.heartbeat.server-ms:10000}")
+    private long serverHeartbeatMs;
+
+    @Value("${websocket.heartbeat.client-ms:10000}")
+    private long clientHeartbeatMs;
+
+    @Autowired
+    private TileFrameConflationInterceptor tileFrameConflationInterceptor;
+
+    @Autowired
+    private SessionBackpressureManager sessionBackpressureManager;
+
+    // The broker's own scheduler; lazy because it is created by the configuration this class customizes
+    @Lazy
+    @Autowired
+    @Qualifier("messageBrokerTaskScheduler")
+    private TaskScheduler messageBrokerTaskScheduler;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
     	registry.addEndpoint("/ws")
@@ -19,7 +57,45 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        registry.enableSimpleBroker("/topic");
+        registry.enableSimpleBroker("/topic")
+                .setHeartbeatValue(new long[] {serverHeartbeatMs, clientHeartbeatMs})
+                .setTaskScheduler(messageBrokerTaskScheduler);
         registry.setApplicationDestinationPrefixes("/app");
     }
-}
\ No newline at end of file
+
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        // Slow sessions are conflated, trimmed or evicted by SessionBackpressureManager
+        registration.setSendTimeLimit(sessionBackpressureManager.getSendTimeLimit())
+                .setSendBufferSizeLimit(sessionBackpressureManager.getSendBufferSizeLimit())
+                .addDecoratorFactory(sessionBackpressureManager);
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        if (virtualThreadsSupported()) {
+            registration.executor(virtualThreadExecutor("ws-inbound-"));
+        }
+    }
+
+    @Override
+    public void configureClientOutboundChannel(ChannelRegistration registration) {
+        registration.interceptors(tileFrameConflationInterceptor);
+        if (virtualThreadsSupported()) {
+            registration.executor(virtualThreadExecutor("ws-outbound-"));
+        }
+    }
+
+    // Virtual threads need Java 21 (the Docker image); on older runtimes Spring's default pool is kept
+    private boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    private SimpleAsyncTaskExecutor virtualThreadExecutor(String threadNamePrefix) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(channelConcurrencyLimit);
+        log.info("Using virtual threads for {} channel (concurrency limit {})", threadNamePrefix, channelConcurrencyLimit);
+        return executor;
+    }
+}
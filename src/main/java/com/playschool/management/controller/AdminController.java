@@ -5,10 +5,15 @@ import com.playschool.management.repository.UserRepository;
 import com.playschool.management.entity.Role;
 import com.playschool.management.entity.RoleName;
 import com.playschool.management.repository.RoleRepository;
+import com.playschool.management.dto.dashboard.EarningsChartDto;
 import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.security.services.UserPrincipalCache;
+import com.playschool.management.service.earnings.EarningsChartService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +26,10 @@ public class AdminController {
     private UserRepository userRepository;
     @Autowired
     private RoleRepository roleRepository;
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    @Autowired
+    private EarningsChartService earningsChartService;
 
     // Add new admin
     @PostMapping("/add")
@@ -49,6 +58,20 @@ public class AdminController {
         return ResponseEntity.ok(admins);
     }
 
+    // Platform-wide delivered earnings per day, week or month; defaults to the last seven days
+    @GetMapping("/dashboard/chart")
+    public ResponseEntity<?> getEarningsChart(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "day") String granularity) {
+        try {
+            EarningsChartDto chart = earningsChartService.forPlatform(from, to, granularity);
+            return ResponseEntity.ok(chart);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+
     // Fetch admin by ID
     @GetMapping("/{id}")
     public ResponseEntity<User> getAdminById(@PathVariable Long id) {
@@ -69,6 +92,7 @@ public class AdminController {
         admin.setEmail(updatedUser.getEmail());
         admin.setPhoneNumber(updatedUser.getPhoneNumber());
         userRepository.save(admin);
+        userPrincipalCache.invalidateUser(id);
         return ResponseEntity.ok(new MessageResponse("Admin updated successfully!"));
     }
     
@@ -92,6 +116,7 @@ public class AdminController {
         }
 
         userRepository.delete(admin);
+        userPrincipalCache.invalidateUser(id);
         return ResponseEntity.ok(new MessageResponse("Admin deleted successfully!"));
     }
  // Fetch current password for admin (for testing only, not recommended for production)
@@ -131,6 +156,7 @@ public ResponseEntity<?> changeAdminPassword(@PathVariable Long id, @RequestBody
 
   admin.setPassword(user.getPassword()); // You may want to hash the password here!
   userRepository.save(admin);
+  userPrincipalCache.invalidateUser(id);
   return ResponseEntity.ok(new MessageResponse("Password updated successfully!"));
 }
 
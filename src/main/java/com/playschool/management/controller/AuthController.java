@@ -1,11 +1,15 @@
 package com.playschool.management.controller;
 
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -14,9 +18,11 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
@@ -33,8 +39,12 @@ import com.playschool.management.repository.RoleRepository;
 import com.playschool.management.repository.UserRepository;
 import com.playschool.management.repository.VehicleOwnerRepository;
 import com.playschool.management.repository.VehicleRepository;
+import com.playschool.management.security.crypto.BoundedPasswordEncoder;
+import com.playschool.management.security.crypto.PasswordHashingBusyException;
 import com.playschool.management.security.jwt.JwtUtils;
+import com.playschool.management.security.jwt.JwtVerifier;
 import com.playschool.management.security.services.UserPrincipal;
+import com.playschool.management.security.services.UserPrincipalCache;
 import com.playschool.management.service.CustomerService;
 
 import jakarta.validation.Valid;
@@ -67,12 +77,21 @@ public class AuthController {
     @Autowired
     PasswordEncoder encoder;
     
+    @Autowired
+    BoundedPasswordEncoder boundedPasswordEncoder;
+    
     @Autowired
     CustomerService customerservice;
     
     @Autowired
     JwtUtils jwtUtils;
     
+    @Autowired
+    JwtVerifier jwtVerifier;
+    
+    @Autowired
+    UserPrincipalCache userPrincipalCache;
+    
     @Autowired
     VehicleRepository vehicleRepository;
     
@@ -101,6 +120,17 @@ public class AuthController {
                 userDetails.getLastName(),
                 roles));
     }
+    
+    // Revokes the bearer token until it expires; other sessions of the user stay signed in
+    @PostMapping("/signout")
+    public ResponseEntity<?> signOutUser(@RequestHeader(value = "Authorization", required = false) String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")
+                || !jwtVerifier.revoke(authorization.substring(7))) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: No valid token to sign out!"));
+        }
+        SecurityContextHolder.clearContext();
+        return ResponseEntity.ok(new MessageResponse("You've been signed out successfully!"));
+    }
     @Transactional
     @PostMapping("/signup")
     public ResponseEntity<?> registerUser(@Valid @RequestBody SignupRequest signUpRequest) {
@@ -315,6 +345,31 @@ public class AuthController {
         return ResponseEntity.status(401).body(new MessageResponse("Not authenticated"));
     }
     
+    // Token verification and principal cache counters
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getAuthStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("verifiedTokenHits", jwtVerifier.getCacheHits());
+        stats.put("verifiedTokenMisses", jwtVerifier.getCacheMisses());
+        stats.put("revokedTokenRejections", jwtVerifier.getRevokedRejections());
+        stats.put("principalCacheHits", userPrincipalCache.getHits());
+        stats.put("principalCacheMisses", userPrincipalCache.getMisses());
+        stats.put("principalCacheSize", userPrincipalCache.getSize());
+        stats.put("passwordHashingActive", boundedPasswordEncoder.getActiveCount());
+        stats.put("passwordHashingQueued", boundedPasswordEncoder.getQueuedCount());
+        stats.put("passwordHashingCompleted", boundedPasswordEncoder.getCompletedCount());
+        stats.put("passwordHashingRejected", boundedPasswordEncoder.getRejectedCount());
+        return ResponseEntity.ok(stats);
+    }
+    
+    // Sign-in and sign-up bursts beyond the hashing pool and its queue
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<MessageResponse> handlePasswordHashingBusy(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new MessageResponse("Error: " + e.getMessage()));
+    }
+    
     // Simple health check endpoint (faster than the other one)
     @GetMapping("/ping")
     public ResponseEntity<String> ping() {
@@ -0,0 +1,110 @@
+package com.playschool.management.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.playschool.management.repository.BookingRepository;
+import com.playschool.management.service.location.TripReplayService;
+import com.playschool.management.service.location.TripReplayService.ReplayCapacityException;
+import com.playschool.management.service.location.TripTrailRecorder;
+import com.playschool.management.service.location.TripTrailRecorder.TrailSlice;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@RestController
+@RequestMapping("/api/bookings")
+@Tag(name = "Booking Tracking", description = "Recorded location history of bookings")
+public class BookingTrackingController {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingTrackingController.class);
+
+    private static final String TRAIL_RECORD_FORMAT = "epochMillis:int64,latitudeE7:int32,longitudeE7:int32;big-endian";
+    private static final double MAX_REPLAY_SPEED = 1000;
+
+    private final TripTrailRecorder tripTrailRecorder;
+    private final TripReplayService tripReplayService;
+    private final BookingRepository bookingRepository;
+
+    public BookingTrackingController(TripTrailRecorder tripTrailRecorder, TripReplayService tripReplayService,
+            BookingRepository bookingRepository) {
+        this.tripTrailRecorder = tripTrailRecorder;
+        this.tripReplayService = tripReplayService;
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Operation(
+        summary = "Recorded trail of a booking",
+        description = "Streams every recorded fix as 16-byte big-endian records: epoch millis (UTC), latitude * 1e7, longitude * 1e7."
+    )
+    @GetMapping(value = "/{bookingId}/trail", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public void getTrail(@PathVariable String bookingId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        List<TrailSlice> slices = tripTrailRecorder.getTrailSlices(bookingId);
+        if (slices.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = 0;
+        for (TrailSlice slice : slices) {
+            length += slice.getLength();
+        }
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setHeader("X-Trail-Record-Format", TRAIL_RECORD_FORMAT);
+        response.setContentLengthLong(length);
+
+        // Single segment: let Tomcat send the file region itself (sendfile)
+        if (slices.size() == 1 && Boolean.TRUE.equals(request.getAttribute("org.apache.tomcat.sendfile.support"))) {
+            TrailSlice slice = slices.get(0);
+            request.setAttribute("org.apache.tomcat.sendfile.filename", slice.getPath().toAbsolutePath().toString());
+            request.setAttribute("org.apache.tomcat.sendfile.start", slice.getOffset());
+            request.setAttribute("org.apache.tomcat.sendfile.end", slice.getOffset() + slice.getLength());
+            return;
+        }
+
+        // Otherwise copy through the response stream: buffered, but never the whole trail at once
+        long written = tripTrailRecorder.transfer(slices, Channels.newChannel(response.getOutputStream()));
+        log.debug("Streamed {} trail bytes for booking {}", written, bookingId);
+    }
+
+    @Operation(
+        summary = "Replay the recorded trail of a booking",
+        description = "Server-Sent Events stream of 'location' events (DriverLocation) on the recorded timeline, sped up by the speed factor (0 < speed <= 1000), followed by one 'end' event carrying the number of fixes sent. 400 for an invalid speed, 503 when too many replays are running."
+    )
+    @GetMapping("/{bookingId}/replay")
+    public ResponseEntity<SseEmitter> replayTrail(@PathVariable String bookingId,
+            @RequestParam(defaultValue = "10") double speed) throws IOException {
+        // The body type is fixed to the emitter, so rejected requests carry only a status
+        if (!(speed > 0 && speed <= MAX_REPLAY_SPEED)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String driverId = bookingRepository.findDriverIdById(bookingId).orElse(null);
+        SseEmitter emitter;
+        try {
+            emitter = tripReplayService.startReplay(bookingId, driverId, speed);
+        } catch (ReplayCapacityException e) {
+            log.warn("Rejected replay of booking {}: {}", bookingId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        if (emitter == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().contentType(MediaType.TEXT_EVENT_STREAM).body(emitter);
+    }
+}
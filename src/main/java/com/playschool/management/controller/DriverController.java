@@ -5,12 +5,14 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -33,6 +35,7 @@ import org.springframework.web.multipart.MultipartFile;
 import com.playschool.management.dto.DriverDTO;
 import com.playschool.management.dto.dashboard.DriverBookingSummaryDto;
 import com.playschool.management.dto.dashboard.DriverChartDataDto;
+import com.playschool.management.dto.dashboard.DriverDashboardDto;
 import com.playschool.management.dto.dashboard.DriverDashboardStatsDto;
 import com.playschool.management.dto.dashboard.DriverMessageSummaryDto;
 import com.playschool.management.dto.dashboard.DriverTripSummaryDto;
@@ -542,6 +545,38 @@ public class DriverController {
         return ResponseEntity.ok("Driver Dashboard API is accessible from frontend!");
     }
 
+    @GetMapping("/{userId}/dashboard")
+    @Operation(
+        summary = "Driver dashboard",
+        description = "Returns the stats, trips, bookings (active), messages and chart sections of the driver dashboard in one "
+                + "response, resolving the driver once. include selects sections (comma-separated, default all); limit applies to "
+                + "trips, bookings and messages; from, to and granularity shape the chart as on /{userId}/dashboard/chart."
+    )
+    public ResponseEntity<DriverDashboardDto> getDashboard(
+            @PathVariable String userId,
+            @RequestParam(name = "include", required = false) String include,
+            @RequestParam(name = "limit", defaultValue = "5") int limit,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", defaultValue = "day") String granularity) {
+        log.info("🚗 Fetching dashboard for driver userId: {} (include: {})", userId, include);
+        try {
+            Set<DriverDashboardDto.Section> sections = DriverDashboardDto.Section.parse(include);
+            DriverDashboardDto dashboard = driverService.getDashboard(userId, sections, limit, from, to, granularity);
+            log.info("✅ Retrieved dashboard sections {} for userId: {}", sections, userId);
+            return ResponseEntity.ok(dashboard);
+        } catch (EntityNotFoundException ex) {
+            log.warn("❌ Driver not found for dashboard request, userId: {}", userId);
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException ex) {
+            log.warn("❌ Invalid dashboard request for userId {}: {}", userId, ex.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception ex) {
+            log.error("💥 Error fetching dashboard for userId: {}", userId, ex);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @GetMapping("/dashboard/{userId}/stats")
     @Operation(
         summary = "Driver dashboard statistics",
@@ -631,18 +666,26 @@ public class DriverController {
     @GetMapping("/{userId}/dashboard/chart")
     @Operation(
         summary = "Driver dashboard chart data",
-        description = "Returns earnings chart data for the driver for the last seven days."
+        description = "Returns delivered earnings per day, week or month between from and to (ISO dates). "
+                + "Defaults to the last seven days; 400 for an unknown granularity or an invalid range."
     )
-    public ResponseEntity<DriverChartDataDto> getChartData(@PathVariable String userId) {
+    public ResponseEntity<DriverChartDataDto> getChartData(
+            @PathVariable String userId,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(name = "granularity", defaultValue = "day") String granularity) {
         log.info("🚗 Fetching dashboard chart data for driver userId: {}", userId);
         try {
-            DriverChartDataDto chart = driverService.getChartData(userId);
+            DriverChartDataDto chart = driverService.getChartData(userId, from, to, granularity);
             log.info("✅ Retrieved chart data with {} data points for userId: {}",
                     chart.getSeries() != null ? chart.getSeries().size() : 0, userId);
             return ResponseEntity.ok(chart);
         } catch (EntityNotFoundException ex) {
             log.warn("❌ Driver not found for chart data request, userId: {}", userId);
             return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException ex) {
+            log.warn("❌ Invalid chart request for userId {}: {}", userId, ex.getMessage());
+            return ResponseEntity.badRequest().build();
         } catch (Exception ex) {
             log.error("💥 Error fetching chart data for userId: {}", userId, ex);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -1,29 +1,153 @@
 package com.playschool.management.controller;
 
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.dto.LocationTileFrame;
+import com.playschool.management.dto.SessionQueueDto;
+import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.service.LocationTrackingService;
 import com.playschool.management.service.NotificationService;
+import com.playschool.management.service.location.EtaEstimator;
+import com.playschool.management.service.location.GeofenceEvaluator;
+import com.playschool.management.service.location.SessionBackpressureManager;
+import com.playschool.management.service.location.TileBroadcaster;
+import com.playschool.management.service.location.TileFrameConflationInterceptor;
+import com.playschool.management.service.location.TileSubscriptionRegistry;
+import com.playschool.management.service.location.TripTrailRecorder;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 @RestController
 @RequestMapping("/api/location")
 @CrossOrigin(origins = {"http://127.0.0.1:5500", "http://localhost:5500"})
 public class LocationController {
 
+	@Autowired
+    private LocationTrackingService locationTrackingService;
+
 	@Autowired
     private NotificationService notificationService;
 
+	@Autowired
+    private TripTrailRecorder tripTrailRecorder;
+
+	@Autowired
+    private GeofenceEvaluator geofenceEvaluator;
+
+	@Autowired
+    private EtaEstimator etaEstimator;
+
+	@Autowired
+    private TileBroadcaster tileBroadcaster;
+
+	@Autowired
+    private TileSubscriptionRegistry tileSubscriptionRegistry;
+
+	@Autowired
+    private TileFrameConflationInterceptor tileFrameConflationInterceptor;
+
+	@Autowired
+    private SessionBackpressureManager sessionBackpressureManager;
+
     @PostMapping("/update")
     public String updateLocation(@RequestBody DriverLocation location) {
-        // When a location is received, pass it to the service to be broadcasted
-        notificationService.broadcastLocation(location);
+        // When a location is received, record it and pass it on to be broadcasted
+        locationTrackingService.ingest(location);
         return "Location update received for driver " + location.getDriverId();
     }
-	
-	
+
+    // Same as /update, but sent as a STOMP frame to /app/location over the already open /ws socket
+    @MessageMapping("/location")
+    public void receiveLocation(@Payload DriverLocation location) {
+        locationTrackingService.ingest(location);
+    }
+
+    // Many fixes in one request: a JSON array, or one JSON object per line (application/x-ndjson)
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> updateLocationsBatch(HttpServletRequest request) throws IOException {
+        try {
+            return ResponseEntity.ok(locationTrackingService.ingestStream(request.getInputStream()));
+        } catch (JsonProcessingException e) {
+            return ResponseEntity.badRequest()
+                    .body(new MessageResponse("Error: Invalid location batch - " + e.getOriginalMessage()));
+        }
+    }
+
+    // Broadcast counters: frames sent, fixes superseded before sending, fixes waiting for the next tick
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public Map<String, Object> getBroadcastStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sentFrames", notificationService.getSentFrames());
+        stats.put("droppedFrames", notificationService.getDroppedFrames());
+        stats.put("pendingFrames", notificationService.getPendingFrames());
+        stats.put("remoteFrames", notificationService.getRemoteFrames());
+        stats.put("trailPointsOffered", tripTrailRecorder.getOfferedPoints());
+        stats.put("trailPointsStored", tripTrailRecorder.getStoredPoints());
+        stats.put("geofenceTransitions", geofenceEvaluator.getTransitions());
+        stats.put("pendingStatusUpdates", geofenceEvaluator.getPendingUpdates());
+        stats.put("droppedStatusUpdates", geofenceEvaluator.getDroppedUpdates());
+        stats.put("publishedEtas", etaEstimator.getPublishedEtas());
+        stats.put("subscribedTiles", tileSubscriptionRegistry.getSubscribedTileCount());
+        stats.put("sentTileFrames", tileBroadcaster.getSentFrames());
+        stats.put("droppedTileFrames", tileFrameConflationInterceptor.getDroppedFrames());
+        stats.put("webSocketSessions", sessionBackpressureManager.getSessionCount());
+        stats.put("queuedSessionFrames", sessionBackpressureManager.getQueuedFrames());
+        stats.put("conflatedSessionFrames", sessionBackpressureManager.getConflatedFrames());
+        stats.put("droppedSessionFrames", sessionBackpressureManager.getDroppedFrames());
+        stats.put("evictedSessions", sessionBackpressureManager.getEvictedSessions());
+        return stats;
+    }
+
+    // Outbound queue depth per WebSocket session, deepest first
+    @GetMapping("/sessions")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public List<SessionQueueDto> getSessionQueues() {
+        return sessionBackpressureManager.getSessionQueues();
+    }
+
+    // Every driver inside a map tile; starting point for /topic/location/tile/{z}/{x}/{y} frames
+    @GetMapping("/tile/{z}/{x}/{y}")
+    public ResponseEntity<?> getTile(@PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        if (!TileSubscriptionRegistry.isValidTile(z, x, y)) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Invalid tile " + z + "/" + x + "/" + y));
+        }
+        LocationTileFrame snapshot = tileBroadcaster.snapshot(z, x, y);
+        return ResponseEntity.ok(snapshot);
+    }
+
+    // Latest known fix for one driver, served from memory
+    @GetMapping("/{driverId}")
+    public ResponseEntity<DriverLocation> getLatestLocation(@PathVariable String driverId) {
+        DriverLocation location = locationTrackingService.getLatestLocation(driverId);
+        return location != null ? ResponseEntity.ok(location) : ResponseEntity.notFound().build();
+    }
+
+    // Latest known fixes for several drivers, e.g. /api/location?ids=d1,d2,d3
+    @GetMapping
+    public List<DriverLocation> getLatestLocations(@RequestParam("ids") List<String> driverIds) {
+        return locationTrackingService.getLatestLocations(driverIds);
+    }
+
+
 }
@@ -0,0 +1,57 @@
+package com.playschool.management.controller;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.playschool.management.dto.response.BulkOnboardingReport;
+import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.service.onboarding.BulkOnboardingService;
+import com.playschool.management.service.onboarding.BulkUserReader;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+
+@RestController
+@RequestMapping("/api/onboarding")
+@Tag(name = "User Onboarding", description = "Bulk creation of user accounts")
+public class UserOnboardingController {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOnboardingController.class);
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BulkOnboardingService bulkOnboardingService;
+
+    public UserOnboardingController(BulkOnboardingService bulkOnboardingService) {
+        this.bulkOnboardingService = bulkOnboardingService;
+    }
+
+    @Operation(
+        summary = "Bulk import users",
+        description = "Streams signup rows as text/csv (header row: username,email,password,firstName,lastName,phoneNumber,role,vehicleNumber; "
+                + "several roles separated by '|') or application/x-ndjson (one signup request per line). Creates the same rows as /api/auth/signup "
+                + "and returns a per-row report with status CREATED, DUPLICATE, INVALID or FAILED."
+    )
+    @PostMapping(value = "/users", consumes = { "text/csv", NDJSON })
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUPER_ADMIN')")
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        BulkUserReader.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(NDJSON)) ? BulkUserReader.Format.NDJSON : BulkUserReader.Format.CSV;
+        try {
+            BulkOnboardingReport report = bulkOnboardingService.importUsers(request.getInputStream(), format);
+            return ResponseEntity.ok(report);
+        } catch (IOException e) {
+            log.warn("Bulk user import rejected: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: " + e.getMessage()));
+        }
+    }
+}
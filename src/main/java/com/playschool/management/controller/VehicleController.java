@@ -22,9 +22,13 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.playschool.management.constants.ApplicationConstants;
+import com.playschool.management.dto.response.MessageResponse;
+import com.playschool.management.dto.response.NearbyVehicleDto;
 import com.playschool.management.dto.response.VehicleResponseDTO;
 import com.playschool.management.entity.Vehicle;
 import com.playschool.management.service.VehicleService;
+import com.playschool.management.service.location.GeoUtils;
+import com.playschool.management.service.location.VehicleSpatialIndex;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -40,11 +44,15 @@ import jakarta.validation.Valid;
 public class VehicleController {
 
     private static final Logger log = LoggerFactory.getLogger(VehicleController.class);
+    private static final double MAX_NEARBY_RADIUS_KM = 500;
+    private static final int MAX_NEARBY_LIMIT = 100;
     private final VehicleService vehicleService;
+    private final VehicleSpatialIndex vehicleSpatialIndex;
     
     // Explicit constructor
-    public VehicleController(VehicleService vehicleService) {
+    public VehicleController(VehicleService vehicleService, VehicleSpatialIndex vehicleSpatialIndex) {
         this.vehicleService = vehicleService;
+        this.vehicleSpatialIndex = vehicleSpatialIndex;
     }
 
     @Operation(summary = "Create or update a vehicle", description = "Creates a new vehicle or updates an existing one")
@@ -131,6 +139,33 @@ public class VehicleController {
         return ResponseEntity.ok(vehicles);
     }
 
+    @Operation(summary = "Find nearest available vehicles", description = "Returns the closest AVAILABLE vehicles to a point, nearest first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Nearby vehicles retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Invalid coordinates, radius or limit")
+    })
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyVehicles(
+            @Parameter(description = "Latitude") @RequestParam double lat,
+            @Parameter(description = "Longitude") @RequestParam double lon,
+            @Parameter(description = "Search radius in km") @RequestParam(defaultValue = "10") double radiusKm,
+            @Parameter(description = "Vehicle type") @RequestParam(required = false) Vehicle.VehicleType type,
+            @Parameter(description = "Maximum number of vehicles") @RequestParam(defaultValue = "10") int limit) {
+        
+        if (!GeoUtils.isValidCoordinate(lat, lon)) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: Invalid coordinates"));
+        }
+        if (!(radiusKm > 0 && radiusKm <= MAX_NEARBY_RADIUS_KM)) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: radiusKm must be between 0 and " + MAX_NEARBY_RADIUS_KM));
+        }
+        if (limit < 1 || limit > MAX_NEARBY_LIMIT) {
+            return ResponseEntity.badRequest().body(new MessageResponse("Error: limit must be between 1 and " + MAX_NEARBY_LIMIT));
+        }
+        
+        List<NearbyVehicleDto> vehicles = vehicleSpatialIndex.findNearest(lat, lon, radiusKm, type, limit);
+        return ResponseEntity.ok(vehicles);
+    }
+
     @Operation(summary = "Get vehicles by location", description = "Retrieves vehicles in a specific city and state")
     @ApiResponse(responseCode = "200", description = "List of vehicles retrieved successfully")
     @GetMapping("/location")
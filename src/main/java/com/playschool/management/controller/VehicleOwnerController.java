@@ -1,6 +1,7 @@
 package com.playschool.management.controller;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,6 +10,8 @@ import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -23,12 +26,15 @@ import org.springframework.web.bind.annotation.RestController;
 
 import com.playschool.management.dto.DriverDTO;
 import com.playschool.management.dto.VehicleOwnerDTO;
+import com.playschool.management.dto.dashboard.EarningsChartDto;
 import com.playschool.management.dto.response.AssignmentHistoryDto;
 import com.playschool.management.entity.Driver; // Add this import
 import com.playschool.management.entity.VehicleOwner;
 import com.playschool.management.entity.WalletTransaction;
+import com.playschool.management.security.crypto.PasswordHashingBusyException;
 import com.playschool.management.service.HistoryService;
 import com.playschool.management.service.VehicleOwnerService;
+import com.playschool.management.service.earnings.EarningsChartService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -44,10 +50,12 @@ public class VehicleOwnerController {
 
     private static final Logger log = LoggerFactory.getLogger(VehicleOwnerController.class);
     private final VehicleOwnerService vehicleOwnerService;
+    private final EarningsChartService earningsChartService;
     
     // Explicit constructor
-    public VehicleOwnerController(VehicleOwnerService vehicleOwnerService) {
+    public VehicleOwnerController(VehicleOwnerService vehicleOwnerService, EarningsChartService earningsChartService) {
         this.vehicleOwnerService = vehicleOwnerService;
+        this.earningsChartService = earningsChartService;
     }
 
     @Operation(summary = "Create or update a vehicle owner", description = "Creates a new vehicle owner or updates an existing one")
@@ -315,7 +323,8 @@ public class VehicleOwnerController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Password changed successfully"),
         @ApiResponse(responseCode = "404", description = "Vehicle owner not found"),
-        @ApiResponse(responseCode = "400", description = "Current password is incorrect")
+        @ApiResponse(responseCode = "400", description = "Current password is incorrect"),
+        @ApiResponse(responseCode = "503", description = "Password hashing is saturated, retry shortly")
     })
     @PutMapping("/{ownerId}/change-password")
     public ResponseEntity<VehicleOwner> changePassword(
@@ -328,6 +337,9 @@ public class VehicleOwnerController {
         try {
             VehicleOwner updatedOwner = vehicleOwnerService.changePassword(ownerId, oldPassword, newPassword);
             return ResponseEntity.ok(updatedOwner);
+        } catch (PasswordHashingBusyException e) {
+            log.warn("Password change for owner {} rejected: {}", ownerId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
         } catch (RuntimeException e) {
             log.error("Error changing password: {}", e.getMessage());
             if (e.getMessage().contains("incorrect")) {
@@ -431,6 +443,31 @@ public class VehicleOwnerController {
         }
     }
 
+    @Operation(summary = "Get earnings chart", description = "Delivered earnings and trips of the owner's bookings per day, week or month "
+            + "between from and to (ISO dates); defaults to the last seven days")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Chart data retrieved successfully"),
+        @ApiResponse(responseCode = "400", description = "Unknown granularity or invalid range")
+    })
+    @GetMapping("/{ownerId}/dashboard/chart")
+    public ResponseEntity<EarningsChartDto> getEarningsChart(
+            @Parameter(description = "Owner ID") @PathVariable String ownerId,
+            @Parameter(description = "First day (ISO date)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (ISO date)") @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "day, week or month") @RequestParam(defaultValue = "day") String granularity) {
+        
+        log.info("Received request to get earnings chart for owner: {}", ownerId);
+        
+        try {
+            return ResponseEntity.ok(earningsChartService.forOwner(ownerId, from, to, granularity));
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid earnings chart request: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @Operation(summary = "Get drivers by vehicle owner ID", description = "Retrieves all drivers associated with a specific vehicle owner")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "List of drivers retrieved successfully"),
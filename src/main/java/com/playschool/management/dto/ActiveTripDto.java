@@ -0,0 +1,63 @@
+package com.playschool.management.dto;
+
+import com.playschool.management.entity.Booking;
+
+/**
+ * Lightweight view of a booking a driver is currently working on, used by the
+ * live location pipeline instead of hydrating full Booking entities.
+ */
+public class ActiveTripDto {
+
+    private final String bookingId;
+    private final String driverId;
+    private final String vehicleId;
+    private final Booking.BookingStatus status;
+    private final Double pickupLatitude;
+    private final Double pickupLongitude;
+    private final Double deliveryLatitude;
+    private final Double deliveryLongitude;
+
+    public ActiveTripDto(String bookingId, String driverId, String vehicleId, Booking.BookingStatus status,
+            Double pickupLatitude, Double pickupLongitude, Double deliveryLatitude, Double deliveryLongitude) {
+        this.bookingId = bookingId;
+        this.driverId = driverId;
+        this.vehicleId = vehicleId;
+        this.status = status;
+        this.pickupLatitude = pickupLatitude;
+        this.pickupLongitude = pickupLongitude;
+        this.deliveryLatitude = deliveryLatitude;
+        this.deliveryLongitude = deliveryLongitude;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public String getDriverId() {
+        return driverId;
+    }
+
+    public String getVehicleId() {
+        return vehicleId;
+    }
+
+    public Booking.BookingStatus getStatus() {
+        return status;
+    }
+
+    public Double getPickupLatitude() {
+        return pickupLatitude;
+    }
+
+    public Double getPickupLongitude() {
+        return pickupLongitude;
+    }
+
+    public Double getDeliveryLatitude() {
+        return deliveryLatitude;
+    }
+
+    public Double getDeliveryLongitude() {
+        return deliveryLongitude;
+    }
+}
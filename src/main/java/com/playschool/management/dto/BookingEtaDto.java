@@ -0,0 +1,44 @@
+package com.playschool.management.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * ETA frame pushed to /topic/booking/{bookingId}/eta.
+ */
+public class BookingEtaDto {
+
+    private final String bookingId;
+    private final String driverId;
+    private final LocalDateTime estimatedArrival;
+    private final double remainingDistanceKm;
+    private final double speedKmh;
+
+    public BookingEtaDto(String bookingId, String driverId, LocalDateTime estimatedArrival,
+            double remainingDistanceKm, double speedKmh) {
+        this.bookingId = bookingId;
+        this.driverId = driverId;
+        this.estimatedArrival = estimatedArrival;
+        this.remainingDistanceKm = remainingDistanceKm;
+        this.speedKmh = speedKmh;
+    }
+
+    public String getBookingId() {
+        return bookingId;
+    }
+
+    public String getDriverId() {
+        return driverId;
+    }
+
+    public LocalDateTime getEstimatedArrival() {
+        return estimatedArrival;
+    }
+
+    public double getRemainingDistanceKm() {
+        return remainingDistanceKm;
+    }
+
+    public double getSpeedKmh() {
+        return speedKmh;
+    }
+}
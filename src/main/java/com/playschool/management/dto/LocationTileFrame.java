@@ -0,0 +1,56 @@
+package com.playschool.management.dto;
+
+import java.util.List;
+
+/**
+ * Changes to one map tile, sent on /topic/location/tile/{z}/{x}/{y} once per tick.
+ *
+ * {@code updated} holds the latest fix of every driver that moved in or within the
+ * tile since the previous frame, {@code removed} the drivers that moved out of it.
+ * {@code sequence} grows by one per frame of the tile; a client that sees a gap has
+ * missed a frame and should reload the tile snapshot from
+ * GET /api/location/tile/{z}/{x}/{y}, where {@code updated} lists every driver in
+ * the tile.
+ */
+public class LocationTileFrame {
+
+    private final int z;
+    private final int x;
+    private final int y;
+    private final long sequence;
+    private final List<DriverLocation> updated;
+    private final List<String> removed;
+
+    public LocationTileFrame(int z, int x, int y, long sequence, List<DriverLocation> updated, List<String> removed) {
+        this.z = z;
+        this.x = x;
+        this.y = y;
+        this.sequence = sequence;
+        this.updated = updated;
+        this.removed = removed;
+    }
+
+    public int getZ() {
+        return z;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public List<DriverLocation> getUpdated() {
+        return updated;
+    }
+
+    public List<String> getRemoved() {
+        return removed;
+    }
+}
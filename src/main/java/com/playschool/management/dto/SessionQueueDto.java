@@ -0,0 +1,52 @@
+package com.playschool.management.dto;
+
+/**
+ * Outbound queue depth of one WebSocket session, as served by
+ * GET /api/location/sessions.
+ *
+ * {@code sendInProgressMillis} is how long the current socket write has been
+ * running, 0 when the session is idle.
+ */
+public class SessionQueueDto {
+
+    private final String sessionId;
+    private final int queuedFrames;
+    private final int queuedBytes;
+    private final long sendInProgressMillis;
+    private final long conflatedFrames;
+    private final long droppedFrames;
+
+    public SessionQueueDto(String sessionId, int queuedFrames, int queuedBytes, long sendInProgressMillis,
+            long conflatedFrames, long droppedFrames) {
+        this.sessionId = sessionId;
+        this.queuedFrames = queuedFrames;
+        this.queuedBytes = queuedBytes;
+        this.sendInProgressMillis = sendInProgressMillis;
+        this.conflatedFrames = conflatedFrames;
+        this.droppedFrames = droppedFrames;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public int getQueuedFrames() {
+        return queuedFrames;
+    }
+
+    public int getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    public long getSendInProgressMillis() {
+        return sendInProgressMillis;
+    }
+
+    public long getConflatedFrames() {
+        return conflatedFrames;
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+}
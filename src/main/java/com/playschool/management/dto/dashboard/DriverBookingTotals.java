@@ -0,0 +1,26 @@
+package com.playschool.management.dto.dashboard;
+
+/**
+ * Booking counts of one driver computed by a single aggregate query, so the dashboard
+ * does not hydrate the driver's whole booking history. Earnings come from the
+ * daily_earnings rollup instead, see {@link DriverEarningsTotals}.
+ */
+public class DriverBookingTotals {
+
+    private final long tripsToday;
+    private final long activeBookings;
+
+    // SUM over no rows is NULL
+    public DriverBookingTotals(Long tripsToday, Long activeBookings) {
+        this.tripsToday = tripsToday != null ? tripsToday : 0L;
+        this.activeBookings = activeBookings != null ? activeBookings : 0L;
+    }
+
+    public long getTripsToday() {
+        return tripsToday;
+    }
+
+    public long getActiveBookings() {
+        return activeBookings;
+    }
+}
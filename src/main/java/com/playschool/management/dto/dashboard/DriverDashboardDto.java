@@ -0,0 +1,91 @@
+package com.playschool.management.dto.dashboard;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * All driver dashboard widgets in one response. Sections the client did not ask for
+ * are null and left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DriverDashboardDto {
+
+    public enum Section {
+        STATS, TRIPS, BOOKINGS, MESSAGES, CHART;
+
+        /**
+         * Parses a comma-separated {@code include} parameter such as "stats,chart";
+         * null or blank means every section.
+         *
+         * @throws IllegalArgumentException for an unknown section name
+         */
+        public static Set<Section> parse(String include) {
+            if (include == null || include.isBlank()) {
+                return EnumSet.allOf(Section.class);
+            }
+            Set<Section> sections = EnumSet.noneOf(Section.class);
+            for (String name : include.split(",")) {
+                if (name.isBlank()) {
+                    continue;
+                }
+                try {
+                    sections.add(valueOf(name.trim().toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Unknown dashboard section: " + name.trim()
+                            + " (expected stats, trips, bookings, messages or chart)");
+                }
+            }
+            return sections;
+        }
+    }
+
+    private DriverDashboardStatsDto stats;
+    private List<DriverTripSummaryDto> trips;
+    private List<DriverBookingSummaryDto> activeBookings;
+    private List<DriverMessageSummaryDto> messages;
+    private DriverChartDataDto chart;
+
+    public DriverDashboardStatsDto getStats() {
+        return stats;
+    }
+
+    public void setStats(DriverDashboardStatsDto stats) {
+        this.stats = stats;
+    }
+
+    public List<DriverTripSummaryDto> getTrips() {
+        return trips;
+    }
+
+    public void setTrips(List<DriverTripSummaryDto> trips) {
+        this.trips = trips;
+    }
+
+    public List<DriverBookingSummaryDto> getActiveBookings() {
+        return activeBookings;
+    }
+
+    public void setActiveBookings(List<DriverBookingSummaryDto> activeBookings) {
+        this.activeBookings = activeBookings;
+    }
+
+    public List<DriverMessageSummaryDto> getMessages() {
+        return messages;
+    }
+
+    public void setMessages(List<DriverMessageSummaryDto> messages) {
+        this.messages = messages;
+    }
+
+    public DriverChartDataDto getChart() {
+        return chart;
+    }
+
+    public void setChart(DriverChartDataDto chart) {
+        this.chart = chart;
+    }
+}
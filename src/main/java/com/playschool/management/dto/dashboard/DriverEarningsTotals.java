@@ -0,0 +1,27 @@
+package com.playschool.management.dto.dashboard;
+
+import java.math.BigDecimal;
+
+/**
+ * A driver's delivered earnings, all time and for one day, read from the
+ * daily_earnings rollup.
+ */
+public class DriverEarningsTotals {
+
+    private final BigDecimal totalEarnings;
+    private final BigDecimal todaysEarnings;
+
+    // SUM over no rows is NULL
+    public DriverEarningsTotals(BigDecimal totalEarnings, BigDecimal todaysEarnings) {
+        this.totalEarnings = totalEarnings != null ? totalEarnings : BigDecimal.ZERO;
+        this.todaysEarnings = todaysEarnings != null ? todaysEarnings : BigDecimal.ZERO;
+    }
+
+    public BigDecimal getTotalEarnings() {
+        return totalEarnings;
+    }
+
+    public BigDecimal getTodaysEarnings() {
+        return todaysEarnings;
+    }
+}
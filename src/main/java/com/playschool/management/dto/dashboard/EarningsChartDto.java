@@ -0,0 +1,52 @@
+package com.playschool.management.dto.dashboard;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Delivered earnings and trip counts per day, week or month, for driver, owner and
+ * platform dashboards. {@code labels}, {@code series} and {@code trips} are parallel.
+ */
+public class EarningsChartDto {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final String granularity;
+    private final List<String> labels;
+    private final List<Double> series;
+    private final List<Long> trips;
+
+    public EarningsChartDto(LocalDate from, LocalDate to, String granularity, List<String> labels, List<Double> series,
+            List<Long> trips) {
+        this.from = from;
+        this.to = to;
+        this.granularity = granularity;
+        this.labels = labels;
+        this.series = series;
+        this.trips = trips;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public String getGranularity() {
+        return granularity;
+    }
+
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public List<Double> getSeries() {
+        return series;
+    }
+
+    public List<Long> getTrips() {
+        return trips;
+    }
+}
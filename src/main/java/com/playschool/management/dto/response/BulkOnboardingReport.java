@@ -0,0 +1,105 @@
+package com.playschool.management.dto.response;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk user import: totals plus one entry per input row, in input order.
+ */
+public class BulkOnboardingReport {
+
+    public enum Status {
+        CREATED, DUPLICATE, INVALID, FAILED
+    }
+
+    private int received;
+    private int created;
+    private int duplicates;
+    private int invalid;
+    private int failed;
+    private boolean truncated;
+    private final List<RowResult> rows = new ArrayList<>();
+
+    public void add(RowResult row) {
+        rows.add(row);
+        received++;
+        switch (row.getStatus()) {
+            case CREATED -> created++;
+            case DUPLICATE -> duplicates++;
+            case INVALID -> invalid++;
+            case FAILED -> failed++;
+        }
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public int getFailed() {
+        return failed;
+    }
+
+    /**
+     * True if the upload had more rows than the import limit; the rest were not read.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public void setTruncated(boolean truncated) {
+        this.truncated = truncated;
+    }
+
+    public List<RowResult> getRows() {
+        return rows;
+    }
+
+    public static class RowResult {
+
+        private final int line;
+        private final String username;
+        private final Status status;
+        private final Long userId;
+        private final String message;
+
+        public RowResult(int line, String username, Status status, Long userId, String message) {
+            this.line = line;
+            this.username = username;
+            this.status = status;
+            this.userId = userId;
+            this.message = message;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
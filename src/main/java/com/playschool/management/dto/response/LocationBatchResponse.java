@@ -0,0 +1,44 @@
+package com.playschool.management.dto.response;
+
+/**
+ * Summary returned by the batched location upload endpoint.
+ */
+public class LocationBatchResponse {
+
+    private int received;
+    private int accepted;
+    private int rejected;
+
+    public LocationBatchResponse() {
+    }
+
+    public LocationBatchResponse(int received, int accepted, int rejected) {
+        this.received = received;
+        this.accepted = accepted;
+        this.rejected = rejected;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+}
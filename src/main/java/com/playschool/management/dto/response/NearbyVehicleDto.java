@@ -0,0 +1,38 @@
+package com.playschool.management.dto.response;
+
+import java.time.LocalDateTime;
+
+import com.playschool.management.entity.Vehicle;
+
+public class NearbyVehicleDto {
+
+    private final String vehicleId;
+    private final String vehicleNumber;
+    private final Vehicle.VehicleType vehicleType;
+    private final String driverId;
+    private final double latitude;
+    private final double longitude;
+    private final double distanceKm;
+    private final LocalDateTime lastLocationUpdate;
+
+    public NearbyVehicleDto(String vehicleId, String vehicleNumber, Vehicle.VehicleType vehicleType, String driverId,
+            double latitude, double longitude, double distanceKm, LocalDateTime lastLocationUpdate) {
+        this.vehicleId = vehicleId;
+        this.vehicleNumber = vehicleNumber;
+        this.vehicleType = vehicleType;
+        this.driverId = driverId;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.distanceKm = distanceKm;
+        this.lastLocationUpdate = lastLocationUpdate;
+    }
+
+    public String getVehicleId() { return vehicleId; }
+    public String getVehicleNumber() { return vehicleNumber; }
+    public Vehicle.VehicleType getVehicleType() { return vehicleType; }
+    public String getDriverId() { return driverId; }
+    public double getLatitude() { return latitude; }
+    public double getLongitude() { return longitude; }
+    public double getDistanceKm() { return distanceKm; }
+    public LocalDateTime getLastLocationUpdate() { return lastLocationUpdate; }
+}
@@ -2,12 +2,18 @@ package com.playschool.management.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+import com.playschool.management.service.earnings.BookingEarningsListener;
+
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.math.BigDecimal;
@@ -15,7 +21,10 @@ import java.util.List;
 import java.util.ArrayList;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_driver_status_pickup", columnList = "driver_id, status, scheduled_pickup_date")
+})
+@EntityListeners(BookingEarningsListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -212,6 +221,22 @@ public class Booking {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
     
+    // What this booking last added to daily_earnings, maintained by BookingEarningsListener
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private transient DailyEarnings.Contribution earningsSnapshot;
+    
+    /** Internal to BookingEarningsListener; not part of the booking's state or API. */
+    @JsonIgnore
+    public DailyEarnings.Contribution earningsSnapshot() {
+        return earningsSnapshot;
+    }
+
+    public void earningsSnapshot(DailyEarnings.Contribution earningsSnapshot) {
+        this.earningsSnapshot = earningsSnapshot;
+    }
+
     // Enums
     public enum BookingStatus {
         PENDING, CONFIRMED, ASSIGNED, PICKED_UP, IN_TRANSIT, DELIVERED, CANCELLED, DISPUTED
@@ -0,0 +1,127 @@
+package com.playschool.management.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+/**
+ * Delivered earnings per driver, owner and delivery day, kept up to date from booking
+ * changes (see BookingEarningsListener) so dashboards read one row per day instead of
+ * every booking. A booking without a driver or owner is recorded under {@link #NONE}.
+ */
+@Entity
+@Table(name = "daily_earnings", indexes = {
+    @Index(name = "idx_daily_earnings_owner_date", columnList = "owner_id, earnings_date")
+})
+@IdClass(DailyEarnings.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyEarnings {
+
+    // Key columns cannot be null
+    public static final String NONE = "";
+
+    @Id
+    @Column(name = "driver_id", nullable = false)
+    private String driverId;
+
+    @Id
+    @Column(name = "owner_id", nullable = false)
+    private String ownerId;
+
+    @Id
+    @Column(name = "earnings_date", nullable = false)
+    private LocalDate earningsDate;
+
+    @Column(nullable = false, precision = 14, scale = 2)
+    private BigDecimal amount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    private long trips;
+
+    /**
+     * What a booking adds to the rollup: its final amount on its delivery day, which
+     * falls back to updatedAt and then createdAt like the dashboards always did.
+     * Null when the booking is not delivered or has no final amount.
+     */
+    public static Contribution contributionOf(Booking booking) {
+        return contributionOf(booking.getStatus(), booking.getPricing() != null ? booking.getPricing().getFinalAmount() : null,
+                booking.getActualDeliveryTime(), booking.getUpdatedAt(), booking.getCreatedAt(),
+                booking.getDriverId(), booking.getOwnerId());
+    }
+
+    /**
+     * Same as {@link #contributionOf(Booking)}, from a booking's column values.
+     */
+    public static Contribution contributionOf(Booking.BookingStatus status, BigDecimal finalAmount,
+            LocalDateTime actualDeliveryTime, LocalDateTime updatedAt, LocalDateTime createdAt,
+            String driverId, String ownerId) {
+        if (status != Booking.BookingStatus.DELIVERED || finalAmount == null) {
+            return null;
+        }
+        LocalDateTime deliveredAt = actualDeliveryTime != null ? actualDeliveryTime
+                : updatedAt != null ? updatedAt : createdAt;
+        if (deliveredAt == null) {
+            return null;
+        }
+        Key key = new Key(driverId != null ? driverId : NONE, ownerId != null ? ownerId : NONE, deliveredAt.toLocalDate());
+        return new Contribution(key, finalAmount);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private String driverId;
+        private String ownerId;
+        private LocalDate earningsDate;
+    }
+
+    public static final class Contribution {
+
+        private final Key key;
+        private final BigDecimal amount;
+
+        public Contribution(Key key, BigDecimal amount) {
+            this.key = key;
+            this.amount = amount;
+        }
+
+        public Key getKey() {
+            return key;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Contribution)) {
+                return false;
+            }
+            Contribution other = (Contribution) o;
+            // compareTo: 100.0 and 100.00 are the same earnings
+            return key.equals(other.key) && amount.compareTo(other.amount) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(key, amount.stripTrailingZeros());
+        }
+    }
+}
@@ -34,4 +34,8 @@ public interface AssignmentHistoryRepository extends JpaRepository<AssignmentHis
     	       "WHERE v.owner.id = :ownerId " +
     	       "ORDER BY ah.assignmentStartDate DESC")
     	List<AssignmentHistoryDto> findHistoryByOwnerId(@Param("ownerId") String ownerId);
+
+    // Driver id / vehicle id pairs of all current assignments
+    @Query("SELECT ah.driver.id, ah.vehicle.id FROM AssignmentHistory ah WHERE ah.isActive = true")
+    List<Object[]> findActiveDriverVehicleIds();
 }
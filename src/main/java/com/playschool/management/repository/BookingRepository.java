@@ -1,7 +1,10 @@
 package com.playschool.management.repository;
 
+import com.playschool.management.dto.ActiveTripDto;
+import com.playschool.management.dto.dashboard.DriverBookingTotals;
 import com.playschool.management.entity.Booking;
 import com.playschool.management.entity.Vehicle;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -37,6 +40,30 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     @Query("SELECT b FROM Booking b WHERE b.status IN ('CONFIRMED', 'IN_TRANSIT', 'PICKED_UP')")
     List<Booking> findActiveBookings();
     
+    // A driver's active bookings, soonest pickup first; served by idx_bookings_driver_status_pickup
+    @Query("SELECT b FROM Booking b WHERE b.driverId = :driverId AND b.status IN ('CONFIRMED', 'IN_TRANSIT', 'PICKED_UP') " +
+           "ORDER BY b.scheduledPickupDate ASC NULLS LAST")
+    List<Booking> findActiveBookingsByDriver(@Param("driverId") String driverId, Pageable pageable);
+    
+    // Snapshot of bookings drivers are working on, for the live location pipeline
+    @Query("SELECT new com.playschool.management.dto.ActiveTripDto(b.id, b.driverId, b.vehicleId, b.status, " +
+           "b.pickupAddress.latitude, b.pickupAddress.longitude, b.deliveryAddress.latitude, b.deliveryAddress.longitude) " +
+           "FROM Booking b WHERE b.driverId IS NOT NULL AND b.status IN ('CONFIRMED', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT')")
+    List<ActiveTripDto> findActiveTrips();
+
+    // Only the driver column, without loading the booking and its photo collections
+    @Query("SELECT b.driverId FROM Booking b WHERE b.id = :id")
+    Optional<String> findDriverIdById(@Param("id") String id);
+
+    // Driver dashboard counts in one pass over the driver's bookings; earnings come from DailyEarnings
+    @Query("SELECT new com.playschool.management.dto.dashboard.DriverBookingTotals(" +
+           "SUM(CASE WHEN b.scheduledPickupDate >= :dayStart AND b.scheduledPickupDate < :dayEnd THEN 1L ELSE 0L END), " +
+           "SUM(CASE WHEN b.status IN ('CONFIRMED', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT') THEN 1L ELSE 0L END)) " +
+           "FROM Booking b WHERE b.driverId = :driverId")
+    DriverBookingTotals findDriverBookingTotals(@Param("driverId") String driverId,
+                                                @Param("dayStart") LocalDateTime dayStart,
+                                                @Param("dayEnd") LocalDateTime dayEnd);
+
     // Find bookings within date range
     @Query("SELECT b FROM Booking b WHERE b.scheduledPickupDate BETWEEN :startDate AND :endDate")
     List<Booking> findBookingsByDateRange(@Param("startDate") LocalDateTime startDate, 
@@ -115,16 +142,21 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     @Query("SELECT b FROM Booking b WHERE b.driverId = :driverId AND b.status = 'DELIVERED'")
     List<Booking> findCompletedBookingsByDriver(@Param("driverId") String driverId);
     
+    // A driver's latest completed trips by pickup time (scheduled, else actual), undated ones last
+    @Query("SELECT b FROM Booking b WHERE b.driverId = :driverId AND b.status = 'DELIVERED' " +
+           "ORDER BY COALESCE(b.scheduledPickupDate, b.actualPickupTime) DESC NULLS LAST")
+    List<Booking> findRecentCompletedBookingsByDriver(@Param("driverId") String driverId, Pageable pageable);
+    
     // Count bookings by status for dashboard
     @Query("SELECT b.status, COUNT(b) FROM Booking b GROUP BY b.status")
     List<Object[]> countBookingsByStatus();
     
-    // Find earnings by owner
-    @Query("SELECT SUM(b.pricing.totalAmount) FROM Booking b WHERE b.ownerId = :ownerId AND b.status = 'DELIVERED'")
+    // Find earnings by owner, from the daily rollup of delivered final amounts
+    @Query("SELECT SUM(e.amount) FROM DailyEarnings e WHERE e.ownerId = :ownerId")
     BigDecimal findTotalEarningsByOwner(@Param("ownerId") String ownerId);
     
-    // Find earnings by driver
-    @Query("SELECT SUM(b.pricing.totalAmount) FROM Booking b WHERE b.driverId = :driverId AND b.status = 'DELIVERED'")
+    // Find earnings by driver, from the daily rollup of delivered final amounts
+    @Query("SELECT SUM(e.amount) FROM DailyEarnings e WHERE e.driverId = :driverId")
     BigDecimal findTotalEarningsByDriver(@Param("driverId") String driverId);
     
     // Find bookings with feedback pending
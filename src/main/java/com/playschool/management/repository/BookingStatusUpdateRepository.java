@@ -0,0 +1,15 @@
+package com.playschool.management.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.playschool.management.entity.BookingStatusUpdate;
+
+@Repository
+public interface BookingStatusUpdateRepository extends JpaRepository<BookingStatusUpdate, String> {
+
+    // Status history of a booking, oldest first
+    List<BookingStatusUpdate> findByBookingIdOrderByCreatedAtAsc(String bookingId);
+}
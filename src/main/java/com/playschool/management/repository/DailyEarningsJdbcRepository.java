@@ -0,0 +1,99 @@
+package com.playschool.management.repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.playschool.management.entity.Booking;
+import com.playschool.management.entity.DailyEarnings;
+
+/**
+ * Writes to the daily_earnings rollup. Plain JDBC because the deltas are applied from
+ * JPA entity callbacks, where the EntityManager must not be used; JdbcTemplate joins
+ * the surrounding transaction's connection.
+ */
+@Repository
+public class DailyEarningsJdbcRepository {
+
+    // Creates the row if missing without failing on a concurrent insert, so the update below always finds it
+    private static final String INSERT_EMPTY =
+            "INSERT INTO daily_earnings (driver_id, owner_id, earnings_date, amount, trips) VALUES (?, ?, ?, 0, 0) " +
+            "ON CONFLICT DO NOTHING";
+
+    private static final String ADD =
+            "UPDATE daily_earnings SET amount = amount + ?, trips = trips + ? " +
+            "WHERE driver_id = ? AND owner_id = ? AND earnings_date = ?";
+
+    // Row lock held until the booking's transaction ends, so overlapping updates apply their deltas one after another
+    private static final String LOCK_BOOKING =
+            "SELECT status, pricing_final_amount, actual_delivery_time, updated_at, created_at, driver_id, owner_id " +
+            "FROM bookings WHERE id = ? FOR UPDATE";
+
+    private static final String DELETE_ALL = "DELETE FROM daily_earnings";
+
+    // Same rule as DailyEarnings.contributionOf
+    private static final String INSERT_FROM_BOOKINGS =
+            "INSERT INTO daily_earnings (driver_id, owner_id, earnings_date, amount, trips) " +
+            "SELECT COALESCE(driver_id, ''), COALESCE(owner_id, ''), " +
+            "CAST(COALESCE(actual_delivery_time, updated_at, created_at) AS DATE), SUM(pricing_final_amount), COUNT(*) " +
+            "FROM bookings WHERE status = 'DELIVERED' AND pricing_final_amount IS NOT NULL " +
+            "AND COALESCE(actual_delivery_time, updated_at, created_at) IS NOT NULL " +
+            "GROUP BY COALESCE(driver_id, ''), COALESCE(owner_id, ''), " +
+            "CAST(COALESCE(actual_delivery_time, updated_at, created_at) AS DATE)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public DailyEarningsJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Adds the given amount and trip count (either may be negative) to one day's row.
+     * Call inside a transaction.
+     */
+    public void add(DailyEarnings.Key key, BigDecimal amount, int trips) {
+        Date date = Date.valueOf(key.getEarningsDate());
+        jdbcTemplate.update(INSERT_EMPTY, key.getDriverId(), key.getOwnerId(), date);
+        jdbcTemplate.update(ADD, amount, trips, key.getDriverId(), key.getOwnerId(), date);
+    }
+
+    /**
+     * Locks the booking's row and returns what its stored values contribute to the
+     * rollup; null when they contribute nothing or the row does not exist. Call inside
+     * a transaction.
+     */
+    public DailyEarnings.Contribution lockContribution(String bookingId) {
+        List<DailyEarnings.Contribution> stored = jdbcTemplate.query(LOCK_BOOKING, (rs, rowNum) -> {
+            String status = rs.getString("status");
+            return DailyEarnings.contributionOf(status != null ? Booking.BookingStatus.valueOf(status) : null,
+                    rs.getBigDecimal("pricing_final_amount"), toLocalDateTime(rs.getTimestamp("actual_delivery_time")),
+                    toLocalDateTime(rs.getTimestamp("updated_at")), toLocalDateTime(rs.getTimestamp("created_at")),
+                    rs.getString("driver_id"), rs.getString("owner_id"));
+        }, bookingId);
+        return stored.isEmpty() ? null : stored.get(0);
+    }
+
+    public boolean isEmpty() {
+        return !Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM daily_earnings)", Boolean.class));
+    }
+
+    /**
+     * Recomputes every row from the bookings table. Call inside a transaction.
+     *
+     * @return the number of rows written
+     */
+    public int rebuild() {
+        jdbcTemplate.update(DELETE_ALL);
+        return jdbcTemplate.update(INSERT_FROM_BOOKINGS);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.playschool.management.repository;
+
+import com.playschool.management.dto.dashboard.DriverEarningsTotals;
+import com.playschool.management.entity.DailyEarnings;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DailyEarningsRepository extends JpaRepository<DailyEarnings, DailyEarnings.Key> {
+
+    // A driver's earnings across owners, all time and on one day
+    @Query("SELECT new com.playschool.management.dto.dashboard.DriverEarningsTotals(SUM(e.amount), " +
+           "SUM(CASE WHEN e.earningsDate = :day THEN e.amount END)) FROM DailyEarnings e WHERE e.driverId = :driverId")
+    DriverEarningsTotals findDriverEarningsTotals(@Param("driverId") String driverId, @Param("day") LocalDate day);
+
+    // Earnings per day for a driver across owners, as (LocalDate, BigDecimal amount, Long trips) rows
+    @Query("SELECT e.earningsDate, SUM(e.amount), SUM(e.trips) FROM DailyEarnings e WHERE e.driverId = :driverId " +
+           "AND e.earningsDate BETWEEN :from AND :to GROUP BY e.earningsDate")
+    List<Object[]> sumByDayForDriver(@Param("driverId") String driverId,
+                                     @Param("from") LocalDate from,
+                                     @Param("to") LocalDate to);
+
+    // Earnings per day for an owner across drivers, as (LocalDate, BigDecimal amount, Long trips) rows
+    @Query("SELECT e.earningsDate, SUM(e.amount), SUM(e.trips) FROM DailyEarnings e WHERE e.ownerId = :ownerId " +
+           "AND e.earningsDate BETWEEN :from AND :to GROUP BY e.earningsDate")
+    List<Object[]> sumByDayForOwner(@Param("ownerId") String ownerId,
+                                    @Param("from") LocalDate from,
+                                    @Param("to") LocalDate to);
+
+    // Earnings per day across the platform, as (LocalDate, BigDecimal amount, Long trips) rows
+    @Query("SELECT e.earningsDate, SUM(e.amount), SUM(e.trips) FROM DailyEarnings e " +
+           "WHERE e.earningsDate BETWEEN :from AND :to GROUP BY e.earningsDate")
+    List<Object[]> sumByDay(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
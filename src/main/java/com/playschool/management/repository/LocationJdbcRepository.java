@@ -0,0 +1,72 @@
+package com.playschool.management.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * Plain JDBC batch writes for the live location stream. Going through JPA here
+ * would mean a load and a dirty-checked save per fix.
+ */
+@Repository
+public class LocationJdbcRepository {
+
+    // Vehicle currently assigned to the driver (see AssignmentHistory)
+    private static final String UPDATE_VEHICLE_LOCATION =
+            "UPDATE vehicles SET current_latitude = ?, current_longitude = ?, last_location_update = ? " +
+            "WHERE id IN (SELECT ah.vehicle_id FROM assignment_history ah WHERE ah.driver_id = ? AND ah.is_active = TRUE)";
+
+    // updated_at is left alone on purpose: it doubles as the delivery time fallback for earnings
+    private static final String UPDATE_BOOKING_LOCATION =
+            "UPDATE bookings SET current_latitude = ?, current_longitude = ?, last_location_update = ? " +
+            "WHERE driver_id = ? AND status IN ('CONFIRMED', 'ASSIGNED', 'PICKED_UP', 'IN_TRANSIT')";
+
+    private static final String UPDATE_BOOKING_ETA =
+            "UPDATE bookings SET estimated_arrival = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LocationJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Writes the given fixes onto each driver's assigned vehicle and active bookings,
+     * as two batched statements on a single connection.
+     */
+    @Transactional
+    public void updateCurrentLocations(List<DriverLocation> locations) {
+        jdbcTemplate.batchUpdate(UPDATE_VEHICLE_LOCATION, locations, locations.size(), (ps, location) -> {
+            ps.setDouble(1, location.getLatitude());
+            ps.setDouble(2, location.getLongitude());
+            ps.setTimestamp(3, Timestamp.valueOf(location.getTimestamp()));
+            ps.setString(4, location.getDriverId());
+        });
+        jdbcTemplate.batchUpdate(UPDATE_BOOKING_LOCATION, locations, locations.size(), (ps, location) -> {
+            ps.setDouble(1, location.getLatitude());
+            ps.setDouble(2, location.getLongitude());
+            ps.setTimestamp(3, Timestamp.valueOf(location.getTimestamp()));
+            ps.setString(4, location.getDriverId());
+        });
+    }
+
+    /**
+     * Writes recalculated ETAs, keyed by booking id, as one batched statement.
+     */
+    @Transactional
+    public void updateEstimatedArrivals(Map<String, LocalDateTime> estimatedArrivals) {
+        List<Map.Entry<String, LocalDateTime>> rows = new ArrayList<>(estimatedArrivals.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_BOOKING_ETA, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, Timestamp.valueOf(row.getValue()));
+            ps.setString(2, row.getKey());
+        });
+    }
+}
@@ -0,0 +1,224 @@
+package com.playschool.management.repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.playschool.management.entity.Role;
+import com.playschool.management.entity.RoleName;
+
+/**
+ * Plain JDBC batch inserts for bulk user onboarding: one batched statement per table
+ * per chunk instead of a JPA save (and its existence checks) per row. Writes the same
+ * rows as {@code AuthController.registerUser}.
+ */
+@Repository
+public class UserOnboardingJdbcRepository {
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (username, email, password, first_name, last_name, phone_number, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, TRUE, ?, ?)";
+
+    private static final String INSERT_USER_ROLE =
+            "INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)";
+
+    // The customer row reuses the user's password hash rather than hashing the password again
+    private static final String INSERT_CUSTOMER =
+            "INSERT INTO customers (id, user_id, email, first_name, last_name, phone_number, password, " +
+            "account_status, verification_status, wallet_balance, reserved_amount, average_rating, total_ratings, " +
+            "email_notifications, sms_notifications, push_notifications, whatsapp_notifications, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', 'PENDING', 0, 0, 0, 0, TRUE, TRUE, TRUE, TRUE, ?, ?)";
+
+    private static final String INSERT_ADMIN =
+            "INSERT INTO admins (user_id, email, first_name, last_name, phone_number) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String INSERT_VEHICLE_OWNER =
+            "INSERT INTO vehicle_owners (id, owner_id, user_id, email, first_name, last_name, phone_number, " +
+            "account_status, verification_status, wallet_balance, reserved_amount, average_rating, total_ratings, " +
+            "email_notifications, sms_notifications, push_notifications, tracking_enabled, auto_accept_orders, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, 'ACTIVE', 'PENDING', 0, 0, 0, 0, TRUE, TRUE, TRUE, TRUE, FALSE, ?, ?)";
+
+    private static final String INSERT_VEHICLE =
+            "INSERT INTO vehicles (id, vehicle_number, owner_id, status, is_active, is_verified, created_at, updated_at) " +
+            "VALUES (?, ?, ?, 'AVAILABLE', TRUE, FALSE, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserOnboardingJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Usernames and emails among the given ones that already belong to a user, in one
+     * query.
+     */
+    public Set<String> findTakenUsernamesAndEmails(Collection<String> usernames, Collection<String> emails) {
+        if (usernames.isEmpty() && emails.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Object> args = new ArrayList<>(usernames.size() + emails.size());
+        args.addAll(usernames);
+        args.addAll(emails);
+        String sql = "SELECT username, email FROM users WHERE username IN (" + placeholders(usernames.size())
+                + ") OR email IN (" + placeholders(emails.size()) + ")";
+        Set<String> taken = new HashSet<>();
+        jdbcTemplate.query(sql, rs -> {
+            taken.add(rs.getString(1));
+            taken.add(rs.getString(2));
+        }, args.toArray());
+        return taken;
+    }
+
+    /**
+     * Inserts the users with their roles and role-specific rows (customer, admin,
+     * vehicle owner with its vehicle). Call inside a transaction.
+     *
+     * @return the new user id by username
+     */
+    public Map<String, Long> insertUsers(List<NewUser> users) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_USER, users, users.size(), (ps, user) -> {
+            ps.setString(1, user.getUsername());
+            ps.setString(2, user.getEmail());
+            ps.setString(3, user.getPasswordHash());
+            ps.setString(4, user.getFirstName());
+            ps.setString(5, user.getLastName());
+            ps.setString(6, user.getPhoneNumber());
+            ps.setTimestamp(7, now);
+            ps.setTimestamp(8, now);
+        });
+
+        // Generated keys of batches differ between drivers; read the ids back instead
+        List<String> usernames = users.stream().map(NewUser::getUsername).toList();
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT id, username FROM users WHERE username IN (" + placeholders(usernames.size()) + ")",
+                rs -> {
+                    ids.put(rs.getString(2), rs.getLong(1));
+                }, usernames.toArray());
+
+        List<Object[]> userRoles = new ArrayList<>();
+        List<NewUser> customers = new ArrayList<>();
+        List<NewUser> admins = new ArrayList<>();
+        List<NewUser> owners = new ArrayList<>();
+        for (NewUser user : users) {
+            for (Role role : user.getRoles()) {
+                userRoles.add(new Object[] { ids.get(user.getUsername()), role.getId() });
+            }
+            if (user.hasRole(RoleName.ROLE_CUSTOMER)) {
+                customers.add(user);
+            }
+            if (user.hasRole(RoleName.ROLE_ADMIN)) {
+                admins.add(user);
+            }
+            if (user.hasRole(RoleName.ROLE_OWNER)) {
+                owners.add(user);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_USER_ROLE, userRoles);
+
+        if (!customers.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_CUSTOMER, customers, customers.size(), (ps, user) -> {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, String.valueOf(ids.get(user.getUsername())));
+                ps.setString(3, user.getEmail());
+                ps.setString(4, user.getFirstName());
+                ps.setString(5, user.getLastName());
+                ps.setString(6, user.getPhoneNumber());
+                ps.setString(7, user.getPasswordHash());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            });
+        }
+        if (!admins.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_ADMIN, admins, admins.size(), (ps, user) -> {
+                ps.setLong(1, ids.get(user.getUsername()));
+                ps.setString(2, user.getEmail());
+                ps.setString(3, user.getFirstName());
+                ps.setString(4, user.getLastName());
+                ps.setString(5, user.getPhoneNumber());
+            });
+        }
+        if (!owners.isEmpty()) {
+            Map<String, String> ownerIds = new HashMap<>();
+            for (NewUser owner : owners) {
+                ownerIds.put(owner.getUsername(), UUID.randomUUID().toString());
+            }
+            jdbcTemplate.batchUpdate(INSERT_VEHICLE_OWNER, owners, owners.size(), (ps, user) -> {
+                String userId = String.valueOf(ids.get(user.getUsername()));
+                ps.setString(1, ownerIds.get(user.getUsername()));
+                ps.setString(2, userId);
+                ps.setString(3, userId);
+                ps.setString(4, user.getEmail());
+                ps.setString(5, user.getFirstName());
+                ps.setString(6, user.getLastName());
+                ps.setString(7, user.getPhoneNumber());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            });
+            jdbcTemplate.batchUpdate(INSERT_VEHICLE, owners, owners.size(), (ps, user) -> {
+                ps.setString(1, UUID.randomUUID().toString());
+                ps.setString(2, user.getVehicleNumber() != null ? user.getVehicleNumber() : "");
+                ps.setString(3, ownerIds.get(user.getUsername()));
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+            });
+        }
+        return ids;
+    }
+
+    private static String placeholders(int count) {
+        // IN () is invalid SQL; a lone NULL matches nothing
+        return count == 0 ? "NULL" : String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    /**
+     * A validated signup row with its password already hashed.
+     */
+    public static class NewUser {
+
+        private final String username;
+        private final String email;
+        private final String passwordHash;
+        private final String firstName;
+        private final String lastName;
+        private final String phoneNumber;
+        private final String vehicleNumber;
+        private final Set<Role> roles;
+
+        public NewUser(String username, String email, String passwordHash, String firstName, String lastName,
+                String phoneNumber, String vehicleNumber, Set<Role> roles) {
+            this.username = username;
+            this.email = email;
+            this.passwordHash = passwordHash;
+            this.firstName = firstName;
+            this.lastName = lastName;
+            this.phoneNumber = phoneNumber;
+            this.vehicleNumber = vehicleNumber;
+            this.roles = roles;
+        }
+
+        public String getUsername() { return username; }
+        public String getEmail() { return email; }
+        public String getPasswordHash() { return passwordHash; }
+        public String getFirstName() { return firstName; }
+        public String getLastName() { return lastName; }
+        public String getPhoneNumber() { return phoneNumber; }
+        public String getVehicleNumber() { return vehicleNumber; }
+        public Set<Role> getRoles() { return roles; }
+
+        boolean hasRole(RoleName name) {
+            return roles.stream().anyMatch(role -> role.getName() == name);
+        }
+    }
+}
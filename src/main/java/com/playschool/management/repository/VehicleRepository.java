@@ -90,4 +90,10 @@ public interface VehicleRepository extends JpaRepository<Vehicle, String> {
     // Find vehicles with location data
     @Query("SELECT v FROM Vehicle v WHERE v.currentLatitude IS NOT NULL AND v.currentLongitude IS NOT NULL")
     List<Vehicle> findVehiclesWithLocation();
+
+    // Compact rows for the in-memory spatial index:
+    // id, vehicleNumber, vehicleType, status, isActive, currentLatitude, currentLongitude, lastLocationUpdate
+    @Query("SELECT v.id, v.vehicleNumber, v.vehicleType, v.status, v.isActive, " +
+           "v.currentLatitude, v.currentLongitude, v.lastLocationUpdate FROM Vehicle v")
+    List<Object[]> findSpatialIndexRows();
 }
\ No newline at end of file
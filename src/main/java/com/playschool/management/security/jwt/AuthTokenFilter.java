@@ -4,6 +4,7 @@ import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -12,6 +13,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import com.playschool.management.security.services.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,9 +25,16 @@ public class AuthTokenFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtils jwtUtils;
 
+    @Autowired
+    private JwtVerifier jwtVerifier;
+
     @Autowired
     private UserDetailsServiceImpl userDetailsService;
 
+    // 0 trusts the token claims for its whole lifetime; otherwise older tokens are checked against the users table
+    @Value("${jwt.revalidate-after-ms:0}")
+    private long revalidateAfterMs;
+
     private static final Logger log = LoggerFactory.getLogger(AuthTokenFilter.class);
 
     @Override
@@ -43,9 +52,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            Claims claims = jwt != null ? jwtVerifier.verify(jwt) : null;
+            if (claims != null) {
+                String username = claims.getSubject();
+                UserDetails userDetails = needsRevalidation(claims) ? null : jwtUtils.getPrincipalFromClaims(claims);
+                if (userDetails == null) {
+                    userDetails = userDetailsService.loadUserByUsername(username);
+                }
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
                                 userDetails,
@@ -62,6 +75,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private boolean needsRevalidation(Claims claims) {
+        if (revalidateAfterMs <= 0) {
+            return false;
+        }
+        return claims.getIssuedAt() == null
+                || System.currentTimeMillis() - claims.getIssuedAt().getTime() > revalidateAfterMs;
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
         if (StringUtils.hasText(headerAuth) && headerAuth.startsWith("Bearer ")) {
@@ -2,52 +2,84 @@ package com.playschool.management.security.jwt;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import com.playschool.management.security.services.UserPrincipal;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
+    // Principal claims; tokens issued before these were added carry only the subject
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_FIRST_NAME = "firstName";
+    static final String CLAIM_LAST_NAME = "lastName";
+    static final String CLAIM_ROLES = "roles";
+    
     @Value("${jwt.secret}")
     private String jwtSecret;
     
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
     
+    // Derived once from the secret; parsers are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+    
+    @PostConstruct
+    void initSigningKey() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+    }
+    
     public String generateJwtToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
+        List<String> roles = userPrincipal.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
         
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim(CLAIM_USER_ID, userPrincipal.getId())
+                .claim(CLAIM_EMAIL, userPrincipal.getEmail())
+                .claim(CLAIM_FIRST_NAME, userPrincipal.getFirstName())
+                .claim(CLAIM_LAST_NAME, userPrincipal.getLastName())
+                .claim(CLAIM_ROLES, roles)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
     
     public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody()
                 .getSubject();
     }
     
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims.
+     *
+     * @return the claims, or null if the token is invalid or expired
+     */
+    public Claims getVerifiedClaims(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(authToken);
-            return true;
+            return jwtParser.parseClaimsJws(authToken).getBody();
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -58,11 +90,40 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
         
-        return false;
+        return null;
+    }
+    
+    /**
+     * Rebuilds the principal from verified claims without touching the database.
+     *
+     * @return the principal, or null for tokens issued without the principal claims
+     */
+    public UserPrincipal getPrincipalFromClaims(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        List<?> roles = claims.get(CLAIM_ROLES, List.class);
+        if (userId == null || roles == null) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = roles.stream()
+                .map(role -> new SimpleGrantedAuthority(role.toString()))
+                .collect(Collectors.toList());
+        
+        return new UserPrincipal(
+                userId.longValue(),
+                claims.getSubject(),
+                claims.get(CLAIM_EMAIL, String.class),
+                claims.get(CLAIM_FIRST_NAME, String.class),
+                claims.get(CLAIM_LAST_NAME, String.class),
+                null,
+                authorities
+        );
+    }
+    
+    public boolean validateJwtToken(String authToken) {
+        return getVerifiedClaims(authToken) != null;
     }
     
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public int getJwtExpirationMs() {
+        return jwtExpirationMs;
     }
 }
@@ -0,0 +1,128 @@
+package com.playschool.management.security.jwt;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Verification fast path for bearer tokens: each token is parsed and its signature
+ * checked once, after which its claims are served from a bounded LRU keyed by the
+ * token hash until the token expires. Every lookup, cached or not, is checked against
+ * the {@link TokenRevocationList}.
+ */
+@Component
+public class JwtVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtVerifier.class);
+
+    private final JwtUtils jwtUtils;
+    private final TokenRevocationList revocationList;
+    private final Map<TokenHash, Claims> verifiedTokens;
+
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder revokedRejections = new LongAdder();
+
+    public JwtVerifier(JwtUtils jwtUtils, TokenRevocationList revocationList,
+            @Value("${jwt.verified-cache-size:10000}") int cacheSize) {
+        this.jwtUtils = jwtUtils;
+        this.revocationList = revocationList;
+        this.verifiedTokens = new LinkedHashMap<>(Math.min(cacheSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<TokenHash, Claims> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the claims of a valid token.
+     *
+     * @return the claims, or null if the token is invalid, expired or revoked
+     */
+    public Claims verify(String token) {
+        TokenHash tokenHash = TokenHash.of(token);
+        Claims claims;
+        synchronized (verifiedTokens) {
+            claims = verifiedTokens.get(tokenHash);
+        }
+        if (claims != null && isExpired(claims)) {
+            synchronized (verifiedTokens) {
+                verifiedTokens.remove(tokenHash);
+            }
+            logger.error("JWT token is expired: {}", claims.getExpiration());
+            return null;
+        }
+        if (claims != null) {
+            cacheHits.increment();
+        } else {
+            cacheMisses.increment();
+            claims = jwtUtils.getVerifiedClaims(token);
+            if (claims == null) {
+                return null;
+            }
+            synchronized (verifiedTokens) {
+                verifiedTokens.put(tokenHash, claims);
+            }
+        }
+
+        if (revocationList.isRevoked(tokenHash, getUserId(claims), getIssuedAtMillis(claims))) {
+            revokedRejections.increment();
+            logger.debug("Rejected revoked JWT token of {}", claims.getSubject());
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * Revokes a single token, e.g. on sign-out. Invalid or expired tokens are ignored.
+     *
+     * @return true if the token was valid and is now revoked
+     */
+    public boolean revoke(String token) {
+        Claims claims = verify(token);
+        if (claims == null || claims.getExpiration() == null) {
+            return false;
+        }
+        TokenHash tokenHash = TokenHash.of(token);
+        revocationList.revokeToken(tokenHash, claims.getExpiration().getTime());
+        synchronized (verifiedTokens) {
+            verifiedTokens.remove(tokenHash);
+        }
+        return true;
+    }
+
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.sum();
+    }
+
+    public long getRevokedRejections() {
+        return revokedRejections.sum();
+    }
+
+    private static boolean isExpired(Claims claims) {
+        Date expiration = claims.getExpiration();
+        return expiration != null && expiration.getTime() <= System.currentTimeMillis();
+    }
+
+    private static Long getUserId(Claims claims) {
+        Number userId = claims.get(JwtUtils.CLAIM_USER_ID, Number.class);
+        return userId != null ? userId.longValue() : null;
+    }
+
+    private static long getIssuedAtMillis(Claims claims) {
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0L;
+    }
+}
@@ -0,0 +1,52 @@
+package com.playschool.management.security.jwt;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * First 128 bits of the SHA-256 digest of a compact JWT, used to key verified and
+ * revoked tokens without keeping the tokens themselves.
+ */
+public final class TokenHash {
+
+    private final long high;
+    private final long low;
+
+    private TokenHash(long high, long low) {
+        this.high = high;
+        this.low = low;
+    }
+
+    public static TokenHash of(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new TokenHash(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    long getHigh() {
+        return high;
+    }
+
+    long getLow() {
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TokenHash)) return false;
+        TokenHash that = (TokenHash) o;
+        return high == that.high && low == that.low;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(high);
+    }
+}
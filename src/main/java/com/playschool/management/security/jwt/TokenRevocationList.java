@@ -0,0 +1,137 @@
+package com.playschool.management.security.jwt;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tokens revoked before their expiry: single tokens on sign-out, and every token of a
+ * user issued before a role change.
+ *
+ * Revoked token hashes sit in an exact map guarded by a Bloom filter, so the common
+ * case (a token that was never revoked) is answered from a few bits without touching
+ * the map. Entries are kept only until the token would have expired anyway. The list
+ * is held in memory on each node.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private static final int BLOOM_HASHES = 4;
+
+    private final int bloomBits;
+    private final long tokenLifetimeMs;
+
+    // token hash -> expiry of the token (epoch millis)
+    private final Map<TokenHash, Long> revokedTokens = new ConcurrentHashMap<>();
+    // user id -> tokens issued before this second are revoked (epoch millis)
+    private final Map<Long, Long> revokedUsersBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloomFilter;
+
+    public TokenRevocationList(@Value("${jwt.revocation.bloom-bits:1048576}") int bloomBits,
+            @Value("${jwt.expiration}") long tokenLifetimeMs) {
+        this.bloomBits = bloomBits;
+        this.tokenLifetimeMs = tokenLifetimeMs;
+        this.bloomFilter = new BloomFilter(bloomBits);
+    }
+
+    public void revokeToken(TokenHash tokenHash, long expiresAtMillis) {
+        if (expiresAtMillis <= System.currentTimeMillis()) {
+            return;
+        }
+        // Map first: a concurrent reader that sees the bloom bits must find the entry
+        revokedTokens.put(tokenHash, expiresAtMillis);
+        bloomFilter.add(tokenHash);
+    }
+
+    /**
+     * Revokes every token of the user issued before now. Token issue times have
+     * one-second resolution, so tokens issued later in the current second stay valid.
+     */
+    public void revokeUser(Long userId) {
+        long currentSecond = System.currentTimeMillis() / 1000 * 1000;
+        revokedUsersBefore.merge(userId, currentSecond, Math::max);
+    }
+
+    public boolean isRevoked(TokenHash tokenHash, Long userId, long issuedAtMillis) {
+        if (userId != null) {
+            Long revokedBefore = revokedUsersBefore.get(userId);
+            if (revokedBefore != null && issuedAtMillis < revokedBefore) {
+                return true;
+            }
+        }
+        return bloomFilter.mightContain(tokenHash) && revokedTokens.containsKey(tokenHash);
+    }
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    public int getRevokedUserCount() {
+        return revokedUsersBefore.size();
+    }
+
+    /**
+     * Drops entries for tokens that have expired by now and rebuilds the Bloom filter,
+     * which cannot forget single entries.
+     */
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size() + revokedUsersBefore.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedUsersBefore.values().removeIf(revokedBefore -> revokedBefore + tokenLifetimeMs <= now);
+
+        BloomFilter rebuilt = new BloomFilter(bloomBits);
+        revokedTokens.keySet().forEach(rebuilt::add);
+        bloomFilter = rebuilt;
+        // Revocations that raced with the rebuild
+        revokedTokens.keySet().forEach(rebuilt::add);
+
+        int purged = before - revokedTokens.size() - revokedUsersBefore.size();
+        if (purged > 0) {
+            logger.debug("Purged {} expired token revocations", purged);
+        }
+    }
+
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final int bits;
+
+        BloomFilter(int bits) {
+            this.bits = Math.max(64, bits);
+            this.words = new AtomicLongArray((this.bits + 63) / 64);
+        }
+
+        void add(TokenHash hash) {
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bitIndex(hash, i);
+                long mask = 1L << bit;
+                words.getAndAccumulate(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+
+        boolean mightContain(TokenHash hash) {
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                int bit = bitIndex(hash, i);
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Double hashing over two independent 64-bit halves of the token digest
+        private int bitIndex(TokenHash hash, int i) {
+            return (int) Math.floorMod(hash.getHigh() + i * hash.getLow(), (long) bits);
+        }
+    }
+}
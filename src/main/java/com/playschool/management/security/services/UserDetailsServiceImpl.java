@@ -7,7 +7,8 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
@@ -15,12 +16,32 @@ public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
     
+    @Autowired
+    UserPrincipalCache principalCache;
+    
+    // Only a cache miss opens a transaction (roles are lazy); hits never touch the pool
+    private TransactionTemplate loadTransaction;
+    
+    @Autowired
+    void setTransactionManager(PlatformTransactionManager transactionManager) {
+        loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setReadOnly(true);
+    }
+    
     @Override
-    @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+        UserPrincipal cached = principalCache.get(username);
+        if (cached != null) {
+            return cached;
+        }
         
-        return UserPrincipal.create(user);
+        long loadStartedAt = principalCache.beginLoad();
+        UserPrincipal principal = loadTransaction.execute(status -> {
+            User user = userRepository.findByUsername(username)
+                    .orElseThrow(() -> new UsernameNotFoundException("User Not Found with username: " + username));
+            return UserPrincipal.create(user);
+        });
+        principalCache.put(principal, loadStartedAt);
+        return principal;
     }
 }
@@ -0,0 +1,130 @@
+package com.playschool.management.security.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Short-lived cache of principals loaded by {@link UserDetailsServiceImpl}, keyed by
+ * username and bounded as an LRU.
+ *
+ * Anything that changes what a principal carries (roles, password, profile, deletion)
+ * must call {@link #invalidateUser(Long)}. A load that started before an invalidation
+ * is not cached, so a concurrent request cannot put the old principal back.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final long ttlMs;
+    private final Map<String, CachedPrincipal> principals;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public UserPrincipalCache(@Value("${security.principal-cache.ttl-ms:60000}") long ttlMs,
+            @Value("${security.principal-cache.max-size:10000}") int maxSize) {
+        this.ttlMs = ttlMs;
+        this.principals = new LinkedHashMap<>(Math.min(maxSize, 1024), 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedPrincipal> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cached principal, or null if absent or older than the TTL
+     */
+    public UserPrincipal get(String username) {
+        CachedPrincipal cached;
+        synchronized (principals) {
+            cached = principals.get(username);
+            if (cached != null && cached.expiresAt <= System.currentTimeMillis()) {
+                principals.remove(username);
+                cached = null;
+            }
+        }
+        if (cached == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return cached.principal;
+    }
+
+    /**
+     * Marks the start of a load; pass the result to {@link #put}.
+     */
+    public long beginLoad() {
+        return invalidations.get();
+    }
+
+    public void put(UserPrincipal principal, long loadStartedAt) {
+        if (ttlMs <= 0) {
+            return;
+        }
+        synchronized (principals) {
+            // Checked under the lock that invalidateUser also takes
+            if (invalidations.get() != loadStartedAt) {
+                return;
+            }
+            principals.put(principal.getUsername(),
+                    new CachedPrincipal(principal, System.currentTimeMillis() + ttlMs));
+        }
+    }
+
+    /**
+     * Drops the user's principal. Inside a transaction it is dropped again after commit,
+     * since a load running before then still reads the old row.
+     */
+    public void invalidateUser(Long userId) {
+        evictUser(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictUser(userId);
+                }
+            });
+        }
+    }
+
+    private void evictUser(Long userId) {
+        synchronized (principals) {
+            invalidations.incrementAndGet();
+            principals.values().removeIf(cached -> cached.principal.getId().equals(userId));
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public int getSize() {
+        synchronized (principals) {
+            return principals.size();
+        }
+    }
+
+    private static final class CachedPrincipal {
+
+        private final UserPrincipal principal;
+        private final long expiresAt;
+
+        CachedPrincipal(UserPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
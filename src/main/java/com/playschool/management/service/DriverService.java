@@ -4,14 +4,13 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Collections;
-import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -19,6 +18,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -26,10 +26,14 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.playschool.management.dto.DriverDTO;
 import com.playschool.management.dto.dashboard.DriverBookingSummaryDto;
+import com.playschool.management.dto.dashboard.DriverBookingTotals;
+import com.playschool.management.dto.dashboard.DriverEarningsTotals;
 import com.playschool.management.dto.dashboard.DriverChartDataDto;
+import com.playschool.management.dto.dashboard.DriverDashboardDto;
 import com.playschool.management.dto.dashboard.DriverDashboardStatsDto;
 import com.playschool.management.dto.dashboard.DriverMessageSummaryDto;
 import com.playschool.management.dto.dashboard.DriverTripSummaryDto;
+import com.playschool.management.dto.dashboard.EarningsChartDto;
 import com.playschool.management.dto.request.MinimalDriverRequestDTO;
 import com.playschool.management.dto.response.DriverAvatarResponse;
 import com.playschool.management.dto.response.DriverProfileSummaryDto;
@@ -40,9 +44,12 @@ import com.playschool.management.entity.Vehicle;
 import com.playschool.management.entity.User;
 import com.playschool.management.repository.AssignmentHistoryRepository;
 import com.playschool.management.repository.BookingRepository;
+import com.playschool.management.repository.DailyEarningsRepository;
 import com.playschool.management.repository.DriverRepository;
 import com.playschool.management.repository.VehicleRepository;
 import com.playschool.management.repository.UserRepository;
+import com.playschool.management.service.earnings.EarningsChartService;
+import com.playschool.management.service.location.VehicleSpatialIndex;
 
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.util.StringUtils;
@@ -58,16 +65,23 @@ public class DriverService {
     private final AssignmentHistoryRepository assignmentHistoryRepository;
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final VehicleSpatialIndex vehicleSpatialIndex;
+    private final EarningsChartService earningsChartService;
+    private final DailyEarningsRepository dailyEarningsRepository;
     
     @Autowired
     public DriverService(DriverRepository driverRepository, VehicleRepository vehicleRepository,
             AssignmentHistoryRepository assignmentHistoryRepository, BookingRepository bookingRepository,
-            UserRepository userRepository) { 
+            UserRepository userRepository, VehicleSpatialIndex vehicleSpatialIndex,
+            EarningsChartService earningsChartService, DailyEarningsRepository dailyEarningsRepository) { 
         this.driverRepository = driverRepository;
         this.vehicleRepository = vehicleRepository; 
         this.assignmentHistoryRepository = assignmentHistoryRepository;
         this.bookingRepository = bookingRepository;
         this.userRepository = userRepository;
+        this.vehicleSpatialIndex = vehicleSpatialIndex;
+        this.earningsChartService = earningsChartService;
+        this.dailyEarningsRepository = dailyEarningsRepository;
     }
     public enum DriverStatus { AVAILABLE, ON_TRIP, OFF_DUTY, BREAK }
 
@@ -487,81 +501,106 @@ public class DriverService {
                 log.warn("❌ DriverService: No driver found with userId: {}", userId);
                 return new EntityNotFoundException("Driver not found with userId: " + userId);
             });
+        return buildDashboardStats(driver);
+    }
 
-        List<Booking> driverBookings = bookingRepository.findByDriverId(driver.getId());
-        log.info("📊 DriverService: Found {} bookings for driver {}", driverBookings.size(), userId);
-
-    LocalDate today = LocalDate.now();
+    @Transactional(readOnly = true)
+    public List<DriverTripSummaryDto> getRecentTrips(String userId, int limit) {
+    Driver driver = driverRepository.findByUserId(userId)
+        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
+    return buildRecentTrips(driver, limit);
+    }
 
-    BigDecimal totalEarnings = driverBookings.stream()
-        .filter(booking -> booking.getStatus() == Booking.BookingStatus.DELIVERED)
-        .map(this::extractFinalAmount)
-        .filter(java.util.Objects::nonNull)
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
+    @Transactional(readOnly = true)
+    public List<DriverBookingSummaryDto> getActiveBookings(String userId, int limit) {
+    Driver driver = driverRepository.findByUserId(userId)
+        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
+    return buildActiveBookings(driver, limit);
+    }
 
-    BigDecimal todaysEarnings = driverBookings.stream()
-        .filter(booking -> booking.getStatus() == Booking.BookingStatus.DELIVERED)
-        .map(booking -> {
-            BigDecimal amount = extractFinalAmount(booking);
-            LocalDateTime deliveredAt = resolveDeliveredAt(booking);
-            if (amount != null && deliveredAt != null && deliveredAt.toLocalDate().isEqual(today)) {
-                return amount;
-            }
-            return BigDecimal.ZERO;
-        })
-        .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-    int tripsToday = (int) driverBookings.stream()
-        .filter(booking -> booking.getScheduledPickupDate() != null
-            && booking.getScheduledPickupDate().toLocalDate().isEqual(today))
-        .count();
-
-    long activeBookings = driverBookings.stream()
-        .filter(booking -> booking.getStatus() != null)
-        .filter(booking -> EnumSet.of(
-            Booking.BookingStatus.CONFIRMED,
-            Booking.BookingStatus.ASSIGNED,
-            Booking.BookingStatus.PICKED_UP,
-            Booking.BookingStatus.IN_TRANSIT)
-            .contains(booking.getStatus()))
-        .count();
+    @Transactional(readOnly = true)
+    public List<DriverMessageSummaryDto> getMessageSummary(String userId, int limit) {
+    Driver driver = driverRepository.findByUserId(userId)
+        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
+    return buildMessageSummary(driver, limit);
+    }
 
-    int unreadMessages = 3; // TODO wire unread count from BookingMessageRepository when conversation tracking is implemented
+    @Transactional(readOnly = true)
+    public DriverChartDataDto getChartData(String userId) {
+    return getChartData(userId, null, null, null);
+    }
 
-    return new DriverDashboardStatsDto(
-        totalEarnings.doubleValue(),
-        todaysEarnings.doubleValue(),
-        tripsToday,
-        (int) activeBookings,
-        unreadMessages);
+    /**
+     * Earnings chart over any range by day, week or month; nulls give the last seven days.
+     *
+     * @throws IllegalArgumentException for an unknown granularity or an invalid range
+     */
+    @Transactional(readOnly = true)
+    public DriverChartDataDto getChartData(String userId, LocalDate from, LocalDate to, String granularity) {
+    Driver driver = driverRepository.findByUserId(userId)
+        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
+    return buildChartData(driver, from, to, granularity);
     }
 
+    /**
+     * Every requested dashboard section from one driver lookup in one read-only
+     * transaction: stats from the aggregate query, trips and active bookings from one
+     * limited query each, the chart from the earnings rollup. Sections not requested
+     * are left null and cost nothing.
+     *
+     * @throws IllegalArgumentException for an unknown chart granularity or an invalid range
+     */
     @Transactional(readOnly = true)
-    public List<DriverTripSummaryDto> getRecentTrips(String userId, int limit) {
+    public DriverDashboardDto getDashboard(String userId, Set<DriverDashboardDto.Section> include, int limit,
+            LocalDate chartFrom, LocalDate chartTo, String chartGranularity) {
     Driver driver = driverRepository.findByUserId(userId)
         .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
 
+    DriverDashboardDto dashboard = new DriverDashboardDto();
+    if (include.contains(DriverDashboardDto.Section.CHART)) {
+        // First, so a bad range fails before any booking query runs
+        dashboard.setChart(buildChartData(driver, chartFrom, chartTo, chartGranularity));
+    }
+    if (include.contains(DriverDashboardDto.Section.STATS)) {
+        dashboard.setStats(buildDashboardStats(driver));
+    }
+    if (include.contains(DriverDashboardDto.Section.TRIPS)) {
+        dashboard.setTrips(buildRecentTrips(driver, limit));
+    }
+    if (include.contains(DriverDashboardDto.Section.BOOKINGS)) {
+        dashboard.setActiveBookings(buildActiveBookings(driver, limit));
+    }
+    if (include.contains(DriverDashboardDto.Section.MESSAGES)) {
+        dashboard.setMessages(buildMessageSummary(driver, limit));
+    }
+    log.info("📊 DriverService: Built dashboard sections {} for driver {}", include, userId);
+    return dashboard;
+    }
+
+    private DriverDashboardStatsDto buildDashboardStats(Driver driver) {
+    LocalDate today = LocalDate.now();
+    DriverBookingTotals totals = bookingRepository.findDriverBookingTotals(driver.getId(),
+        today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+    DriverEarningsTotals earnings = dailyEarningsRepository.findDriverEarningsTotals(driver.getId(), today);
+
+    int unreadMessages = 3; // TODO wire unread count from BookingMessageRepository when conversation tracking is implemented
+
+    return new DriverDashboardStatsDto(
+        earnings.getTotalEarnings().doubleValue(),
+        earnings.getTodaysEarnings().doubleValue(),
+        (int) totals.getTripsToday(),
+        (int) totals.getActiveBookings(),
+        unreadMessages);
+    }
+
+    private List<DriverTripSummaryDto> buildRecentTrips(Driver driver, int limit) {
     int effectiveLimit = limit > 0 ? limit : 5;
 
-    List<Booking> completedBookings = bookingRepository.findCompletedBookingsByDriver(driver.getId());
-    log.info("📊 DriverService: Found {} completed bookings for driver {}", completedBookings.size(), userId);
+    List<Booking> completedBookings = bookingRepository.findRecentCompletedBookingsByDriver(driver.getId(),
+        PageRequest.of(0, effectiveLimit));
+    log.info("📊 DriverService: Found {} completed bookings for driver {}", completedBookings.size(), driver.getUserId());
 
     return completedBookings.stream()
-        .sorted((left, right) -> {
-            LocalDateTime leftDate = resolvePickupTime(left);
-            LocalDateTime rightDate = resolvePickupTime(right);
-            if (leftDate == null && rightDate == null) {
-                return 0;
-            }
-            if (leftDate == null) {
-                return 1;
-            }
-            if (rightDate == null) {
-                return -1;
-            }
-            return rightDate.compareTo(leftDate);
-        })
-        .limit(effectiveLimit)
         .map(booking -> {
             String bookingId = booking.getId() != null ? booking.getId().toString() : "N/A";
             String pickupCity = resolveCity(booking.getPickupAddress(), "Pickup TBD");
@@ -575,35 +614,15 @@ public class DriverService {
         .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<DriverBookingSummaryDto> getActiveBookings(String userId, int limit) {
-    Driver driver = driverRepository.findByUserId(userId)
-        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
-
+    private List<DriverBookingSummaryDto> buildActiveBookings(Driver driver, int limit) {
     int effectiveLimit = limit > 0 ? limit : 5;
 
-    List<Booking> activeBookings = bookingRepository.findActiveBookings().stream()
-        .filter(booking -> driver.getId().equals(booking.getDriverId()))
-        .collect(Collectors.toList());
+    List<Booking> activeBookings = bookingRepository.findActiveBookingsByDriver(driver.getId(),
+        PageRequest.of(0, effectiveLimit));
     
-    log.info("📊 DriverService: Found {} active bookings for driver {}", activeBookings.size(), userId);
+    log.info("📊 DriverService: Found {} active bookings for driver {}", activeBookings.size(), driver.getUserId());
 
     return activeBookings.stream()
-        .sorted((left, right) -> {
-            LocalDateTime leftDate = left.getScheduledPickupDate();
-            LocalDateTime rightDate = right.getScheduledPickupDate();
-            if (leftDate == null && rightDate == null) {
-            return 0;
-            }
-            if (leftDate == null) {
-            return 1;
-            }
-            if (rightDate == null) {
-            return -1;
-            }
-            return leftDate.compareTo(rightDate);
-        })
-        .limit(effectiveLimit)
         .map(booking -> new DriverBookingSummaryDto(
             booking.getId(),
             resolveCustomerName(booking),
@@ -613,54 +632,20 @@ public class DriverService {
         .collect(Collectors.toList());
     }
 
-    @Transactional(readOnly = true)
-    public List<DriverMessageSummaryDto> getMessageSummary(String userId, int limit) {
-    driverRepository.findByUserId(userId)
-        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
-
+    private List<DriverMessageSummaryDto> buildMessageSummary(Driver driver, int limit) {
     // TODO: Implement real message repository integration
-    log.info("📊 DriverService: Message summary not yet implemented for driver {}", userId);
+    log.info("📊 DriverService: Message summary not yet implemented for driver {}", driver.getUserId());
     
     // Return empty list until BookingMessageRepository is implemented
     return new ArrayList<>();
     }
 
-    @Transactional(readOnly = true)
-    public DriverChartDataDto getChartData(String userId) {
-    Driver driver = driverRepository.findByUserId(userId)
-        .orElseThrow(() -> new EntityNotFoundException("Driver not found with userId: " + userId));
-
-    List<Booking> completedBookings = bookingRepository.findCompletedBookingsByDriver(driver.getId());
-
-    LocalDate today = LocalDate.now();
-    DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM");
-    List<String> labels = new ArrayList<>();
-    List<Double> series = new ArrayList<>();
-
-    for (int i = 6; i >= 0; i--) {
-        LocalDate day = today.minusDays(i);
-        labels.add(day.format(formatter));
-
-        double totalForDay = completedBookings.stream()
-            .filter(booking -> {
-            LocalDateTime deliveredAt = booking.getActualDeliveryTime() != null
-                ? booking.getActualDeliveryTime()
-                : booking.getUpdatedAt();
-            return deliveredAt != null && deliveredAt.toLocalDate().isEqual(day);
-            })
-            .map(Booking::getPricing)
-            .filter(java.util.Objects::nonNull)
-            .map(pricing -> pricing.getFinalAmount())
-            .filter(java.util.Objects::nonNull)
-            .mapToDouble(BigDecimal::doubleValue)
-            .sum();
-
-        series.add(totalForDay);
-    }
+    private DriverChartDataDto buildChartData(Driver driver, LocalDate from, LocalDate to, String granularity) {
+    EarningsChartDto chart = earningsChartService.forDriver(driver.getId(), from, to, granularity);
 
-    log.info("📊 DriverService: Generated chart with {} data points for driver {}", series.size(), userId);
+    log.info("📊 DriverService: Generated chart with {} data points for driver {}", chart.getSeries().size(), driver.getUserId());
 
-    return new DriverChartDataDto(labels, series);
+    return new DriverChartDataDto(chart.getLabels(), chart.getSeries());
     }
 
     @Transactional
@@ -691,6 +676,8 @@ public class DriverService {
         // 4. Update the status of the vehicle and driver
         vehicle.setStatus(Vehicle.VehicleStatus.IN_TRANSIT);
         vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.assign(driverId, vehicleId);
+        vehicleSpatialIndex.update(vehicle);
 
         driver.setStatus(Driver.DriverStatus.ON_TRIP);
         return driverRepository.save(driver);
@@ -716,6 +703,8 @@ public class DriverService {
         // 5. Update the status of the vehicle and driver to AVAILABLE
         vehicle.setStatus(Vehicle.VehicleStatus.AVAILABLE);
         vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.unassign(driverId, vehicle.getId());
+        vehicleSpatialIndex.update(vehicle);
 
         driver.setStatus(Driver.DriverStatus.AVAILABLE);
         return driverRepository.save(driver);
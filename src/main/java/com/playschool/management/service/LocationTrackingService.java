@@ -0,0 +1,131 @@
+package com.playschool.management.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.playschool.management.dto.ActiveTripDto;
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.dto.response.LocationBatchResponse;
+import com.playschool.management.service.location.ActiveTripRegistry;
+import com.playschool.management.service.location.DriverPositionStore;
+import com.playschool.management.service.location.EtaEstimator;
+import com.playschool.management.service.location.GeofenceEvaluator;
+import com.playschool.management.service.location.LocationWriteBehind;
+import com.playschool.management.service.location.TripTrailRecorder;
+import com.playschool.management.service.location.VehicleSpatialIndex;
+
+/**
+ * Entry point for live driver fixes. Every fix is recorded in the in-memory
+ * position store, appended to the trails, checked against the geofences and used to
+ * refresh the ETAs of the driver's active bookings, moved in the vehicle spatial
+ * index, queued for write-behind persistence and handed to the broadcaster.
+ *
+ * A fix older than the driver's latest one (typically an offline buffer uploaded
+ * after the phone reconnected and sent a live fix) is still appended to the trails,
+ * but is not where the driver is now: it does not move the latest position, the
+ * spatial index or the stored coordinates, is not broadcast, and is not used for
+ * geofence transitions or ETAs, which would otherwise fire for a place the driver
+ * already left.
+ */
+@Service
+public class LocationTrackingService {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationTrackingService.class);
+
+    private final DriverPositionStore positionStore;
+    private final ActiveTripRegistry activeTripRegistry;
+    private final TripTrailRecorder tripTrailRecorder;
+    private final GeofenceEvaluator geofenceEvaluator;
+    private final EtaEstimator etaEstimator;
+    private final VehicleSpatialIndex vehicleSpatialIndex;
+    private final LocationWriteBehind locationWriteBehind;
+    private final NotificationService notificationService;
+    private final ObjectReader locationReader;
+
+    public LocationTrackingService(DriverPositionStore positionStore, ActiveTripRegistry activeTripRegistry,
+            TripTrailRecorder tripTrailRecorder, GeofenceEvaluator geofenceEvaluator, EtaEstimator etaEstimator,
+            VehicleSpatialIndex vehicleSpatialIndex,
+            LocationWriteBehind locationWriteBehind,
+            NotificationService notificationService, ObjectMapper objectMapper) {
+        this.positionStore = positionStore;
+        this.activeTripRegistry = activeTripRegistry;
+        this.tripTrailRecorder = tripTrailRecorder;
+        this.geofenceEvaluator = geofenceEvaluator;
+        this.etaEstimator = etaEstimator;
+        this.vehicleSpatialIndex = vehicleSpatialIndex;
+        this.locationWriteBehind = locationWriteBehind;
+        this.notificationService = notificationService;
+        this.locationReader = objectMapper.readerFor(DriverLocation.class);
+    }
+
+    /**
+     * Records and broadcasts a fix.
+     *
+     * @return false if the fix was rejected because it is invalid
+     */
+    public boolean ingest(DriverLocation location) {
+        if (location == null || location.getDriverId() == null || location.getDriverId().isBlank()) {
+            log.debug("Ignoring location update without a driver id");
+            return false;
+        }
+        if (location.getTimestamp() == null) {
+            location.setTimestamp(LocalDateTime.now());
+        }
+        boolean latest = positionStore.update(location);
+        List<ActiveTripDto> trips = activeTripRegistry.getTrips(location.getDriverId());
+        for (ActiveTripDto trip : trips) {
+            tripTrailRecorder.record(trip.getBookingId(), location);
+        }
+        if (!latest) {
+            log.debug("Recorded out-of-order location update for driver {} in the trail only", location.getDriverId());
+            return true;
+        }
+        geofenceEvaluator.evaluate(location, trips);
+        etaEstimator.onLocation(location, trips);
+        vehicleSpatialIndex.onDriverLocation(location);
+        locationWriteBehind.enqueue(location);
+        notificationService.broadcastLocation(location);
+        return true;
+    }
+
+    /**
+     * Ingests a stream of fixes, either a JSON array or newline-delimited JSON objects.
+     * Fixes are parsed one at a time and ingested as soon as they are read, so the
+     * whole upload is never held in memory.
+     *
+     * @throws IOException if the body is not valid JSON; fixes read before the error stay ingested
+     */
+    public LocationBatchResponse ingestStream(InputStream body) throws IOException {
+        int received = 0;
+        int accepted = 0;
+        try (MappingIterator<DriverLocation> fixes = locationReader.readValues(body)) {
+            while (fixes.hasNextValue()) {
+                DriverLocation location = fixes.nextValue();
+                received++;
+                if (ingest(location)) {
+                    accepted++;
+                }
+            }
+        }
+        log.debug("Batch location upload: {} received, {} accepted", received, accepted);
+        return new LocationBatchResponse(received, accepted, received - accepted);
+    }
+
+    public DriverLocation getLatestLocation(String driverId) {
+        return positionStore.get(driverId);
+    }
+
+    public List<DriverLocation> getLatestLocations(Collection<String> driverIds) {
+        return positionStore.getAll(driverIds);
+    }
+}
@@ -1,10 +1,23 @@
 package com.playschool.management.service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.playschool.management.dto.BookingEtaDto;
 import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.service.location.DriverPositionStore;
+import com.playschool.management.service.location.LocationFanout;
+import com.playschool.management.service.location.TileBroadcaster;
+
+import jakarta.annotation.PostConstruct;
 
 @Service
 public class NotificationService {
@@ -12,12 +25,95 @@ public class NotificationService {
 	@Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+	@Autowired
+    private TileBroadcaster tileBroadcaster;
+
+	@Autowired
+    private LocationFanout locationFanout;
+
+	@Autowired
+    private DriverPositionStore positionStore;
+
+    // Newest fix per driver that has not been sent yet. A fix that arrives before the
+    // next flush replaces the pending one, so bursts collapse into a single frame.
+    private final Map<String, DriverLocation> pendingLocations = new ConcurrentHashMap<>();
+
+    private final LongAdder sentFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder remoteFrames = new LongAdder();
+
+    @PostConstruct
+    public void registerFanoutListener() {
+        locationFanout.setListener(this::deliverRemoteLocations);
+    }
+
     public void broadcastLocation(DriverLocation location) {
+        if (pendingLocations.put(location.getDriverId(), location) != null) {
+            droppedFrames.increment();
+        }
+        tileBroadcaster.broadcastLocation(location);
+    }
+
+    @Scheduled(fixedDelayString = "${location.broadcast.flush-interval-ms:500}")
+    public void flushPendingLocations() {
+        List<DriverLocation> batch = new ArrayList<>(pendingLocations.size());
+        for (String driverId : pendingLocations.keySet()) {
+            DriverLocation location = pendingLocations.remove(driverId);
+            if (location == null) {
+                continue;
+            }
+            sendLocation(location);
+            batch.add(location);
+        }
+        // One batch per tick keeps cross-node traffic bounded by the tick rate
+        if (!batch.isEmpty()) {
+            locationFanout.publish(batch);
+        }
+    }
+
+    /**
+     * Broadcasts fixes that drivers posted to another node to the sockets on this one.
+     * The fixes also go into the local position store, so reads and tile snapshots
+     * served here include remote drivers; fixes older than the stored one are skipped.
+     */
+    public void deliverRemoteLocations(List<DriverLocation> locations) {
+        for (DriverLocation location : locations) {
+            if (positionStore.update(location)) {
+                sendLocation(location);
+                tileBroadcaster.broadcastLocation(location);
+                remoteFrames.increment();
+            }
+        }
+    }
+
+    // ETA frames are already rate-limited by the estimator's threshold, so they go out directly
+    public void broadcastEta(BookingEtaDto eta) {
+        messagingTemplate.convertAndSend("/topic/booking/" + eta.getBookingId() + "/eta", eta);
+    }
+
+    public long getSentFrames() {
+        return sentFrames.sum();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    public long getRemoteFrames() {
+        return remoteFrames.sum();
+    }
+
+    public int getPendingFrames() {
+        return pendingLocations.size();
+    }
+
+    private void sendLocation(DriverLocation location) {
         // The destination is dynamic, based on the driver's ID.
         // Clients subscribed to "/topic/location/123" will receive this message.
         String destination = "/topic/location/" + location.getDriverId();
         messagingTemplate.convertAndSend(destination, location);
+        sentFrames.increment();
     }
-	
-	
+
+
 }
@@ -0,0 +1,62 @@
+package com.playschool.management.service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.entity.Role;
+import com.playschool.management.entity.RoleName;
+import com.playschool.management.repository.RoleRepository;
+
+/**
+ * In-memory view of the roles table, which only changes when the application seeds
+ * it. Loaded on first use and reloaded once if a role is missing.
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private volatile Map<RoleName, Role> roles;
+
+    public RoleRegistry(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    /**
+     * @return the role, or null if it does not exist in the database
+     */
+    public Role get(RoleName name) {
+        Map<RoleName, Role> current = roles;
+        if (current == null || !current.containsKey(name)) {
+            current = reload();
+        }
+        return current.get(name);
+    }
+
+    /**
+     * Resolves a role given as {@code ROLE_OWNER} or {@code owner}.
+     *
+     * @return the role, or null if the name is unknown
+     */
+    public Role resolve(String name) {
+        String normalized = name.trim().toUpperCase();
+        if (!normalized.startsWith("ROLE_")) {
+            normalized = "ROLE_" + normalized;
+        }
+        try {
+            return get(RoleName.valueOf(normalized));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private synchronized Map<RoleName, Role> reload() {
+        Map<RoleName, Role> loaded = new EnumMap<>(RoleName.class);
+        for (Role role : roleRepository.findAll()) {
+            loaded.put(role.getName(), role);
+        }
+        roles = loaded;
+        return loaded;
+    }
+}
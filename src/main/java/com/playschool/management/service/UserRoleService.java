@@ -14,6 +14,8 @@ import com.playschool.management.entity.RoleName;
 import com.playschool.management.entity.User;
 import com.playschool.management.repository.RoleRepository;
 import com.playschool.management.repository.UserRepository;
+import com.playschool.management.security.jwt.TokenRevocationList;
+import com.playschool.management.security.services.UserPrincipalCache;
 
 @Service
 @Transactional
@@ -25,6 +27,12 @@ public class UserRoleService {
     @Autowired
     private RoleRepository roleRepository;
     
+    @Autowired
+    private TokenRevocationList tokenRevocationList;
+    
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+    
     /**
      * Add a role to a user (supports new roles: DRIVER, OWNER, CUSTOMER, ADMIN, SUPER_ADMIN)
      */
@@ -37,7 +45,11 @@ public class UserRoleService {
             Role role = roleOpt.get();
 
             user.getRoles().add(role);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            // Issued tokens carry the old roles
+            tokenRevocationList.revokeUser(userId);
+            userPrincipalCache.invalidateUser(userId);
+            return saved;
         }
 
         throw new RuntimeException("User or Role not found");
@@ -55,7 +67,10 @@ public class UserRoleService {
             Role role = roleOpt.get();
 
             user.getRoles().remove(role);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            tokenRevocationList.revokeUser(userId);
+            userPrincipalCache.invalidateUser(userId);
+            return saved;
         }
 
         throw new RuntimeException("User or Role not found");
@@ -78,7 +93,10 @@ public class UserRoleService {
             }
             
             user.setRoles(roles);
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            tokenRevocationList.revokeUser(userId);
+            userPrincipalCache.invalidateUser(userId);
+            return saved;
         }
         
         throw new RuntimeException("User not found");
@@ -18,6 +18,7 @@ import com.playschool.management.entity.AssignmentHistory;
 import com.playschool.management.entity.Vehicle;
 import com.playschool.management.repository.AssignmentHistoryRepository;
 import com.playschool.management.repository.VehicleRepository;
+import com.playschool.management.service.location.VehicleSpatialIndex;
 
 @Service
 public class VehicleService {
@@ -31,6 +32,9 @@ public class VehicleService {
     
     @Autowired
     private AssignmentHistoryRepository assignmentHistoryRepository;
+
+    @Autowired
+    private VehicleSpatialIndex vehicleSpatialIndex;
     
     // Explicit constructor
     public VehicleService(VehicleRepository vehicleRepository) {
@@ -47,7 +51,9 @@ public class VehicleService {
         }
         vehicle.setUpdatedAt(LocalDateTime.now());
         
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.update(savedVehicle);
+        return savedVehicle;
     }
     
     // Find vehicle by ID
@@ -153,7 +159,9 @@ public class VehicleService {
         vehicle.setStatus(status);
         vehicle.setUpdatedAt(LocalDateTime.now());
         
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.update(savedVehicle);
+        return savedVehicle;
     }
     
     // Update vehicle location
@@ -169,7 +177,9 @@ public class VehicleService {
         vehicle.setLastLocationUpdate(LocalDateTime.now());
         vehicle.setUpdatedAt(LocalDateTime.now());
         
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.update(savedVehicle);
+        return savedVehicle;
     }
     
     // Update next service date
@@ -182,7 +192,9 @@ public class VehicleService {
         vehicle.setNextServiceDate(nextServiceDate);
         vehicle.setUpdatedAt(LocalDateTime.now());
         
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.update(savedVehicle);
+        return savedVehicle;
     }
     
     // Update active status
@@ -195,7 +207,9 @@ public class VehicleService {
         vehicle.setIsActive(isActive);
         vehicle.setUpdatedAt(LocalDateTime.now());
         
-        return vehicleRepository.save(vehicle);
+        Vehicle savedVehicle = vehicleRepository.save(vehicle);
+        vehicleSpatialIndex.update(savedVehicle);
+        return savedVehicle;
     }
     
     // Check if vehicle is available for booking
@@ -271,6 +285,7 @@ public class VehicleService {
         }
         
         vehicleRepository.delete(vehicle);
+        vehicleSpatialIndex.remove(vehicleId);
     }
     
     // Get vehicle statistics
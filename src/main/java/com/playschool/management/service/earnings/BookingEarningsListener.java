@@ -0,0 +1,70 @@
+package com.playschool.management.service.earnings;
+
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.entity.Booking;
+import com.playschool.management.entity.DailyEarnings;
+import com.playschool.management.repository.DailyEarningsJdbcRepository;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Keeps daily_earnings in step with bookings. Before a booking is updated or deleted
+ * its row is locked and what the stored values contribute is read; when the flush
+ * changes that (delivered, final amount edited, delivery day moved, deleted) the old
+ * contribution is taken off and the new one added, on the flushing transaction's
+ * connection so the rollup commits or rolls back with the booking.
+ *
+ * Reading the stored row under the lock, rather than trusting what the booking held
+ * when it was loaded, keeps two overlapping transactions that both deliver (or both
+ * edit) the same booking from applying the same delta twice: the second one waits
+ * for the first to commit and then sees its result.
+ *
+ * Bulk SQL updates of bookings bypass this listener; none of them touch status or
+ * pricing today. If one ever does, run {@link EarningsRollupService#rebuild()}.
+ */
+@Component
+public class BookingEarningsListener {
+
+    private final DailyEarningsJdbcRepository dailyEarningsJdbcRepository;
+
+    public BookingEarningsListener(DailyEarningsJdbcRepository dailyEarningsJdbcRepository) {
+        this.dailyEarningsJdbcRepository = dailyEarningsJdbcRepository;
+    }
+
+    @PreUpdate
+    @PreRemove
+    public void lockStored(Booking booking) {
+        booking.earningsSnapshot(dailyEarningsJdbcRepository.lockContribution(booking.getId()));
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void apply(Booking booking) {
+        DailyEarnings.Contribution before = booking.earningsSnapshot();
+        DailyEarnings.Contribution after = DailyEarnings.contributionOf(booking);
+        if (before == null ? after == null : before.equals(after)) {
+            return;
+        }
+        if (before != null) {
+            dailyEarningsJdbcRepository.add(before.getKey(), before.getAmount().negate(), -1);
+        }
+        if (after != null) {
+            dailyEarningsJdbcRepository.add(after.getKey(), after.getAmount(), 1);
+        }
+        booking.earningsSnapshot(after);
+    }
+
+    @PostRemove
+    public void remove(Booking booking) {
+        DailyEarnings.Contribution before = booking.earningsSnapshot();
+        if (before != null) {
+            dailyEarningsJdbcRepository.add(before.getKey(), before.getAmount().negate(), -1);
+            booking.earningsSnapshot(null);
+        }
+    }
+}
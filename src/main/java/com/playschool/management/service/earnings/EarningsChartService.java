@@ -0,0 +1,76 @@
+package com.playschool.management.service.earnings;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.playschool.management.dto.dashboard.EarningsChartDto;
+import com.playschool.management.repository.DailyEarningsRepository;
+
+/**
+ * Earnings charts for driver, owner and admin dashboards: one grouped read of the
+ * daily_earnings rollup for the range, folded into {@link TimeBuckets} in one pass.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EarningsChartService {
+
+    // Buckets shown when the caller gives no start date
+    public static final int DEFAULT_BUCKETS = 7;
+
+    private final DailyEarningsRepository dailyEarningsRepository;
+
+    public EarningsChartService(DailyEarningsRepository dailyEarningsRepository) {
+        this.dailyEarningsRepository = dailyEarningsRepository;
+    }
+
+    /**
+     * Buckets for the requested range. {@code to} defaults to today, {@code from} to
+     * {@value #DEFAULT_BUCKETS} buckets before it and {@code granularity} to day.
+     *
+     * @throws IllegalArgumentException for an unknown granularity or an invalid range
+     */
+    public TimeBuckets buckets(LocalDate from, LocalDate to, String granularity) {
+        TimeBuckets.Granularity unit = granularity != null ? TimeBuckets.Granularity.parse(granularity)
+                : TimeBuckets.Granularity.DAY;
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : unit.rangeStart(end, DEFAULT_BUCKETS);
+        return new TimeBuckets(start, end, unit);
+    }
+
+    public EarningsChartDto forDriver(String driverId, LocalDate from, LocalDate to, String granularity) {
+        TimeBuckets buckets = buckets(from, to, granularity);
+        return toDto(fill(buckets, dailyEarningsRepository.sumByDayForDriver(driverId, buckets.getFrom(), buckets.getTo())));
+    }
+
+    public EarningsChartDto forOwner(String ownerId, LocalDate from, LocalDate to, String granularity) {
+        TimeBuckets buckets = buckets(from, to, granularity);
+        return toDto(fill(buckets, dailyEarningsRepository.sumByDayForOwner(ownerId, buckets.getFrom(), buckets.getTo())));
+    }
+
+    public EarningsChartDto forPlatform(LocalDate from, LocalDate to, String granularity) {
+        TimeBuckets buckets = buckets(from, to, granularity);
+        return toDto(fill(buckets, dailyEarningsRepository.sumByDay(buckets.getFrom(), buckets.getTo())));
+    }
+
+    private static EarningsChartDto toDto(TimeBuckets buckets) {
+        return new EarningsChartDto(buckets.getFrom(), buckets.getTo(),
+                buckets.getGranularity().name().toLowerCase(Locale.ROOT), buckets.labels(), buckets.amounts(),
+                buckets.counts());
+    }
+
+    // Rows are (LocalDate, BigDecimal amount, Long trips) from DailyEarningsRepository
+    private static TimeBuckets fill(TimeBuckets buckets, List<Object[]> rows) {
+        for (Object[] row : rows) {
+            BigDecimal amount = (BigDecimal) row[1];
+            Number trips = (Number) row[2];
+            buckets.add((LocalDate) row[0], amount != null ? amount.doubleValue() : 0.0,
+                    trips != null ? trips.longValue() : 0L);
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,51 @@
+package com.playschool.management.service.earnings;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.playschool.management.repository.DailyEarningsJdbcRepository;
+
+/**
+ * Backfill for the daily_earnings rollup. On startup an empty rollup is filled from
+ * the bookings already delivered; after that {@link BookingEarningsListener} keeps it
+ * current.
+ */
+@Service
+public class EarningsRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(EarningsRollupService.class);
+
+    private final DailyEarningsJdbcRepository dailyEarningsJdbcRepository;
+    private final boolean backfillOnStartup;
+
+    public EarningsRollupService(DailyEarningsJdbcRepository dailyEarningsJdbcRepository,
+            @Value("${earnings.rollup.backfill-on-startup:true}") boolean backfillOnStartup) {
+        this.dailyEarningsJdbcRepository = dailyEarningsJdbcRepository;
+        this.backfillOnStartup = backfillOnStartup;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (backfillOnStartup && dailyEarningsJdbcRepository.isEmpty()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recomputes the whole rollup from bookings in one transaction. Bookings delivered
+     * by another transaction while this runs may be counted twice or not at all, so run
+     * it when booking traffic is quiet.
+     */
+    @Transactional
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int rows = dailyEarningsJdbcRepository.rebuild();
+        log.info("Daily earnings rollup rebuilt: {} rows in {} ms", rows, System.currentTimeMillis() - started);
+        return rows;
+    }
+}
@@ -0,0 +1,149 @@
+package com.playschool.management.service.earnings;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Fixed calendar buckets (days, ISO weeks starting Monday, or months) over a date
+ * range, filled in one pass: each value's bucket is computed arithmetically from its
+ * date and added to primitive arrays, so the cost is one step per input row whatever
+ * the number of buckets.
+ */
+public final class TimeBuckets {
+
+    // Two years of days; keeps a bad range from allocating a huge chart
+    public static final int MAX_BUCKETS = 731;
+
+    public enum Granularity {
+        DAY, WEEK, MONTH;
+
+        public static Granularity parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown granularity: " + value + " (expected day, week or month)");
+            }
+        }
+
+        /** Start of the range holding {@code count} buckets that ends with the one containing {@code to}. */
+        public LocalDate rangeStart(LocalDate to, int count) {
+            return switch (this) {
+                case DAY -> to.minusDays(count - 1L);
+                case WEEK -> to.minusWeeks(count - 1L);
+                case MONTH -> to.minusMonths(count - 1L);
+            };
+        }
+    }
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd MMM");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy");
+
+    private final Granularity granularity;
+    private final LocalDate first;
+    private final LocalDate last;
+    private final double[] amounts;
+    private final long[] counts;
+
+    /**
+     * @throws IllegalArgumentException if {@code to} is before {@code from} or the range
+     *         needs more than {@link #MAX_BUCKETS} buckets
+     */
+    public TimeBuckets(LocalDate from, LocalDate to, Granularity granularity) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+        this.granularity = granularity;
+        this.first = bucketStart(from, granularity);
+        this.last = to;
+        long size = index(to) + 1;
+        if (size > MAX_BUCKETS) {
+            throw new IllegalArgumentException("Range " + from + ".." + to + " needs " + size + " "
+                    + granularity.name().toLowerCase(Locale.ROOT) + " buckets; at most " + MAX_BUCKETS + " allowed");
+        }
+        this.amounts = new double[(int) size];
+        this.counts = new long[(int) size];
+    }
+
+    /** First day of the range, aligned to the start of its bucket. */
+    public LocalDate getFrom() {
+        return first;
+    }
+
+    public LocalDate getTo() {
+        return last;
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    public int size() {
+        return amounts.length;
+    }
+
+    /** Adds to the bucket holding {@code date}; dates outside the range are ignored. */
+    public void add(LocalDate date, double amount, long count) {
+        if (date.isBefore(first) || date.isAfter(last)) {
+            return;
+        }
+        int index = (int) index(date);
+        amounts[index] += amount;
+        counts[index] += count;
+    }
+
+    public List<String> labels() {
+        List<String> labels = new ArrayList<>(amounts.length);
+        LocalDate start = first;
+        for (int i = 0; i < amounts.length; i++) {
+            labels.add(start.format(granularity == Granularity.MONTH ? MONTH_LABEL : DAY_LABEL));
+            start = next(start);
+        }
+        return labels;
+    }
+
+    public List<Double> amounts() {
+        List<Double> values = new ArrayList<>(amounts.length);
+        for (double amount : amounts) {
+            values.add(amount);
+        }
+        return values;
+    }
+
+    public List<Long> counts() {
+        List<Long> values = new ArrayList<>(counts.length);
+        for (long count : counts) {
+            values.add(count);
+        }
+        return values;
+    }
+
+    private long index(LocalDate date) {
+        return switch (granularity) {
+            case DAY -> ChronoUnit.DAYS.between(first, date);
+            case WEEK -> ChronoUnit.DAYS.between(first, date) / 7;
+            case MONTH -> (date.getYear() - first.getYear()) * 12L + date.getMonthValue() - first.getMonthValue();
+        };
+    }
+
+    private LocalDate next(LocalDate start) {
+        return switch (granularity) {
+            case DAY -> start.plusDays(1);
+            case WEEK -> start.plusWeeks(1);
+            case MONTH -> start.plusMonths(1);
+        };
+    }
+
+    private static LocalDate bucketStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
@@ -15,6 +15,7 @@ import com.playschool.management.entity.Customer;
 import com.playschool.management.entity.User;
 import com.playschool.management.repository.CustomerRepository;
 import com.playschool.management.repository.UserRepository;
+import com.playschool.management.security.services.UserPrincipalCache;
 import com.playschool.management.service.CustomerService;
 
 import jakarta.transaction.Transactional;
@@ -37,6 +38,9 @@ public class CustomerServiceImpl implements CustomerService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserPrincipalCache userPrincipalCache;
+
     @Override
     public Optional<Customer> getCustomerById(String id) {
         return customerRepository.findById(id);
@@ -185,5 +189,6 @@ public class CustomerServiceImpl implements CustomerService {
 
         user.setPassword(passwordEncoder.encode(dto.getNewPassword()));
         userRepository.save(user);
+        userPrincipalCache.invalidateUser(user.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.playschool.management.service.location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.ActiveTripDto;
+import com.playschool.management.repository.BookingRepository;
+
+/**
+ * Driver to active-booking lookup for the live location pipeline.
+ *
+ * The whole set of active trips is reloaded with one query on a fixed interval and
+ * swapped in atomically, so resolving a fix to its bookings is a map lookup and
+ * never a database call.
+ */
+@Component
+public class ActiveTripRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveTripRegistry.class);
+
+    private final BookingRepository bookingRepository;
+    private volatile Map<String, List<ActiveTripDto>> tripsByDriver = Collections.emptyMap();
+
+    public ActiveTripRegistry(BookingRepository bookingRepository) {
+        this.bookingRepository = bookingRepository;
+    }
+
+    @Scheduled(fixedDelayString = "${location.active-trips.refresh-interval-ms:30000}")
+    public void refresh() {
+        try {
+            Map<String, List<ActiveTripDto>> loaded = new HashMap<>();
+            for (ActiveTripDto trip : bookingRepository.findActiveTrips()) {
+                loaded.computeIfAbsent(trip.getDriverId(), key -> new ArrayList<>(1)).add(trip);
+            }
+            loaded.replaceAll((driverId, trips) -> Collections.unmodifiableList(trips));
+            tripsByDriver = Collections.unmodifiableMap(loaded);
+            log.debug("Loaded active trips for {} drivers", loaded.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh active trips, keeping previous snapshot: {}", e.getMessage());
+        }
+    }
+
+    public List<ActiveTripDto> getTrips(String driverId) {
+        return tripsByDriver.getOrDefault(driverId, Collections.emptyList());
+    }
+}
@@ -0,0 +1,209 @@
+package com.playschool.management.service.location;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+
+import com.playschool.management.dto.SessionQueueDto;
+
+/**
+ * Owns the outbound queue of one WebSocket session.
+ *
+ * Frames are queued here and written by a single drain task per session, so the
+ * thread that produced a frame never waits on a slow socket. While a frame is still
+ * queued, a newer STOMP MESSAGE frame for the same conflatable destination and
+ * subscription takes its place (those topics carry latest-wins state). If the queue
+ * still holds more than the buffer limit, the oldest conflatable frames are dropped;
+ * if that is not enough, or a single write has been stuck for longer than the
+ * send-time limit, the session is evicted. Server heartbeats go through the same
+ * path, so a stuck session is noticed even when no other traffic is sent to it.
+ */
+final class ConflatingSessionDecorator extends WebSocketSessionDecorator {
+
+    private static final Logger log = LoggerFactory.getLogger(ConflatingSessionDecorator.class);
+
+    private static final String MESSAGE_FRAME = "MESSAGE\n";
+    private static final String HEARTBEAT_FRAME = "\n";
+    private static final String DESTINATION_HEADER = "\ndestination:";
+    private static final String SUBSCRIPTION_HEADER = "\nsubscription:";
+
+    private final SessionBackpressureManager manager;
+    private final Executor writer;
+
+    // Key is the conflation key for conflatable frames, a fresh Object otherwise; guarded by queue
+    private final LinkedHashMap<Object, WebSocketMessage<?>> queue = new LinkedHashMap<>();
+    private int queuedBytes;
+    private boolean draining;
+    private long conflatedFrames;
+    private long droppedFrames;
+
+    private volatile long sendStartMillis;
+    private volatile boolean evicted;
+
+    ConflatingSessionDecorator(WebSocketSession session, SessionBackpressureManager manager, Executor writer) {
+        super(session);
+        this.manager = manager;
+        this.writer = writer;
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (evicted) {
+            return;
+        }
+        String key = conflationKey(message);
+        boolean startDrain;
+        boolean overLimit = false;
+        synchronized (queue) {
+            WebSocketMessage<?> replaced = key != null ? queue.replace(key, message) : null;
+            if (!queue.isEmpty() && isHeartbeat(message)) {
+                // Any frame already queued proves the connection alive
+            } else if (replaced != null) {
+                queuedBytes += message.getPayloadLength() - replaced.getPayloadLength();
+                conflatedFrames++;
+                manager.onConflated();
+            } else {
+                queue.put(key != null ? key : new Object(), message);
+                queuedBytes += message.getPayloadLength();
+            }
+            if (queuedBytes > manager.getSendBufferSizeLimit()) {
+                overLimit = !dropOldestConflatable();
+            }
+            startDrain = !draining && !overLimit;
+            if (startDrain) {
+                draining = true;
+            }
+        }
+        if (overLimit) {
+            evict("send buffer limit of " + manager.getSendBufferSizeLimit() + " bytes exceeded");
+        } else if (startDrain) {
+            writer.execute(this::drain);
+        } else {
+            long started = sendStartMillis;
+            if (started > 0 && System.currentTimeMillis() - started > manager.getSendTimeLimit()) {
+                evict("send blocked for more than " + manager.getSendTimeLimit() + " ms");
+            }
+        }
+    }
+
+    SessionQueueDto snapshot() {
+        long started = sendStartMillis;
+        long sendInProgressMillis = started > 0 ? System.currentTimeMillis() - started : 0;
+        synchronized (queue) {
+            return new SessionQueueDto(getId(), queue.size(), queuedBytes, sendInProgressMillis,
+                    conflatedFrames, droppedFrames);
+        }
+    }
+
+    int getQueuedFrames() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> message;
+            synchronized (queue) {
+                Iterator<WebSocketMessage<?>> iterator = queue.values().iterator();
+                if (evicted || !iterator.hasNext()) {
+                    draining = false;
+                    return;
+                }
+                message = iterator.next();
+                iterator.remove();
+                queuedBytes -= message.getPayloadLength();
+            }
+            sendStartMillis = System.currentTimeMillis();
+            try {
+                getDelegate().sendMessage(message);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Failed to send to WebSocket session {}: {}", getId(), e.getMessage());
+                evict("send failed");
+            } finally {
+                sendStartMillis = 0;
+            }
+        }
+    }
+
+    /**
+     * Drops conflatable frames, oldest first, until the queue fits the buffer limit.
+     *
+     * @return whether the queue fits the limit again
+     */
+    private boolean dropOldestConflatable() {
+        Iterator<Map.Entry<Object, WebSocketMessage<?>>> iterator = queue.entrySet().iterator();
+        while (queuedBytes > manager.getSendBufferSizeLimit() && iterator.hasNext()) {
+            Map.Entry<Object, WebSocketMessage<?>> entry = iterator.next();
+            if (entry.getKey() instanceof String) {
+                queuedBytes -= entry.getValue().getPayloadLength();
+                iterator.remove();
+                droppedFrames++;
+                manager.onDropped();
+            }
+        }
+        return queuedBytes <= manager.getSendBufferSizeLimit();
+    }
+
+    private void evict(String reason) {
+        synchronized (queue) {
+            if (evicted) {
+                return;
+            }
+            evicted = true;
+            queue.clear();
+            queuedBytes = 0;
+        }
+        manager.onEvicted();
+        log.warn("Evicting WebSocket session {}: {}", getId(), reason);
+        try {
+            getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+        } catch (IOException e) {
+            log.debug("Failed to close WebSocket session {}: {}", getId(), e.getMessage());
+        }
+    }
+
+    /**
+     * @return destination and subscription of a MESSAGE frame on a conflatable
+     *         destination, or null if the frame must be delivered as is
+     */
+    private String conflationKey(WebSocketMessage<?> message) {
+        if (!(message instanceof TextMessage textMessage)) {
+            return null;
+        }
+        String frame = textMessage.getPayload();
+        if (!frame.startsWith(MESSAGE_FRAME)) {
+            return null;
+        }
+        int headersEnd = frame.indexOf("\n\n");
+        String destination = headerValue(frame, DESTINATION_HEADER, headersEnd);
+        if (destination == null || !manager.isConflatable(destination)) {
+            return null;
+        }
+        return destination + '\n' + headerValue(frame, SUBSCRIPTION_HEADER, headersEnd);
+    }
+
+    private static boolean isHeartbeat(WebSocketMessage<?> message) {
+        return message instanceof TextMessage textMessage && HEARTBEAT_FRAME.equals(textMessage.getPayload());
+    }
+
+    private static String headerValue(String frame, String header, int headersEnd) {
+        int start = frame.indexOf(header);
+        if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+            return null;
+        }
+        start += header.length();
+        int end = frame.indexOf('\n', start);
+        return end < 0 ? frame.substring(start) : frame.substring(start, end);
+    }
+}
@@ -0,0 +1,205 @@
+package com.playschool.management.service.location;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.StampedLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * In-memory store of the latest known fix for every driver.
+ *
+ * Drivers are spread over a fixed number of lock stripes. Each stripe keeps its
+ * coordinates and timestamps in primitive arrays indexed by a per-stripe slot, so
+ * updating a driver that has already been seen allocates nothing and readers never
+ * touch the database.
+ */
+@Component
+public class DriverPositionStore {
+
+    private static final int INITIAL_STRIPE_CAPACITY = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    public DriverPositionStore(@Value("${location.store.stripes:16}") int requestedStripes) {
+        // Round up to a power of two so a stripe can be picked with a mask
+        int count = requestedStripes <= 1 ? 1 : Integer.highestOneBit(requestedStripes - 1) << 1;
+        this.stripes = new Stripe[count];
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeMask = count - 1;
+    }
+
+    /**
+     * Records a fix for the driver. Fixes older than the one already stored are ignored,
+     * so out-of-order uploads never move a driver backwards.
+     *
+     * @return true if the fix became the driver's latest position
+     */
+    public boolean update(String driverId, double latitude, double longitude, long epochMillis) {
+        return stripeFor(driverId).update(driverId, latitude, longitude, epochMillis);
+    }
+
+    public boolean update(DriverLocation location) {
+        return update(location.getDriverId(), location.getLatitude(), location.getLongitude(),
+                toEpochMillis(location.getTimestamp()));
+    }
+
+    /**
+     * Returns the latest fix for the driver, or null if nothing has been received yet.
+     */
+    public DriverLocation get(String driverId) {
+        return stripeFor(driverId).get(driverId);
+    }
+
+    /**
+     * Returns the latest fixes for the given drivers, skipping drivers without a position.
+     */
+    public List<DriverLocation> getAll(Collection<String> driverIds) {
+        List<DriverLocation> result = new ArrayList<>(driverIds.size());
+        for (String driverId : driverIds) {
+            DriverLocation location = get(driverId);
+            if (location != null) {
+                result.add(location);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the latest fix of every driver inside the box (edges inclusive).
+     */
+    public List<DriverLocation> findWithin(double minLatitude, double maxLatitude,
+            double minLongitude, double maxLongitude) {
+        List<DriverLocation> result = new ArrayList<>();
+        for (Stripe stripe : stripes) {
+            stripe.collectWithin(minLatitude, maxLatitude, minLongitude, maxLongitude, result);
+        }
+        return result;
+    }
+
+    public int size() {
+        int total = 0;
+        for (Stripe stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        LocalDateTime value = timestamp != null ? timestamp : LocalDateTime.now();
+        return value.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    private Stripe stripeFor(String driverId) {
+        int h = driverId.hashCode();
+        return stripes[(h ^ (h >>> 16)) & stripeMask];
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private final Map<String, Integer> slots = new HashMap<>();
+        private String[] driverIds = new String[INITIAL_STRIPE_CAPACITY];
+        private double[] latitudes = new double[INITIAL_STRIPE_CAPACITY];
+        private double[] longitudes = new double[INITIAL_STRIPE_CAPACITY];
+        private long[] timestamps = new long[INITIAL_STRIPE_CAPACITY];
+        private int size;
+
+        boolean update(String driverId, double latitude, double longitude, long epochMillis) {
+            long stamp = lock.writeLock();
+            try {
+                Integer slot = slots.get(driverId);
+                int index;
+                if (slot == null) {
+                    index = size++;
+                    ensureCapacity(size);
+                    driverIds[index] = driverId;
+                    slots.put(driverId, index);
+                } else {
+                    index = slot;
+                    if (epochMillis < timestamps[index]) {
+                        return false;
+                    }
+                }
+                latitudes[index] = latitude;
+                longitudes[index] = longitude;
+                timestamps[index] = epochMillis;
+                return true;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        DriverLocation get(String driverId) {
+            long stamp = lock.readLock();
+            try {
+                Integer slot = slots.get(driverId);
+                if (slot == null) {
+                    return null;
+                }
+                int index = slot;
+                DriverLocation location = new DriverLocation(driverId, latitudes[index], longitudes[index]);
+                location.setTimestamp(fromEpochMillis(timestamps[index]));
+                return location;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void collectWithin(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude,
+                List<DriverLocation> result) {
+            long stamp = lock.readLock();
+            try {
+                for (int i = 0; i < size; i++) {
+                    double latitude = latitudes[i];
+                    double longitude = longitudes[i];
+                    if (latitude >= minLatitude && latitude <= maxLatitude
+                            && longitude >= minLongitude && longitude <= maxLongitude) {
+                        DriverLocation location = new DriverLocation(driverIds[i], latitude, longitude);
+                        location.setTimestamp(fromEpochMillis(timestamps[i]));
+                        result.add(location);
+                    }
+                }
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return size;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= driverIds.length) {
+                return;
+            }
+            int capacity = driverIds.length << 1;
+            driverIds = Arrays.copyOf(driverIds, capacity);
+            latitudes = Arrays.copyOf(latitudes, capacity);
+            longitudes = Arrays.copyOf(longitudes, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.playschool.management.service.location;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.ActiveTripDto;
+import com.playschool.management.dto.BookingEtaDto;
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.entity.Booking;
+import com.playschool.management.repository.LocationJdbcRepository;
+import com.playschool.management.service.NotificationService;
+
+/**
+ * Keeps Booking.estimatedArrival in step with the live location stream.
+ *
+ * Each driver has an exponentially smoothed speed (time-weighted, so irregular fix
+ * intervals do not skew it). A booking's ETA is the fix time plus the remaining
+ * great-circle distance, scaled by a road factor, over that speed; before pickup the
+ * remaining distance runs through the pickup point. An ETA is only pushed to
+ * /topic/booking/{id}/eta and queued for the batched database write when it moves by
+ * more than the publish threshold.
+ */
+@Component
+public class EtaEstimator {
+
+    private static final Logger log = LoggerFactory.getLogger(EtaEstimator.class);
+
+    private static final double MAX_PLAUSIBLE_SPEED_MPS = 40; // 144 km/h; faster means a GPS jump
+    private static final long MAX_SAMPLE_GAP_MILLIS = 10 * 60_000L;
+
+    private final LocationJdbcRepository locationJdbcRepository;
+    private final NotificationService notificationService;
+    private final ActiveTripRegistry activeTripRegistry;
+    private final double roadFactor;
+    private final double defaultSpeedMps;
+    private final double minSpeedMps;
+    private final double smoothingMillis;
+    private final long publishThresholdMillis;
+
+    private final Map<String, SpeedState> speedByDriver = new ConcurrentHashMap<>();
+    private final Map<String, Long> publishedEtaByBooking = new ConcurrentHashMap<>();
+    private final Map<String, LocalDateTime> pendingEtas = new ConcurrentHashMap<>();
+    private final LongAdder publishedEtas = new LongAdder();
+
+    public EtaEstimator(LocationJdbcRepository locationJdbcRepository, NotificationService notificationService,
+            ActiveTripRegistry activeTripRegistry,
+            @Value("${location.eta.road-factor:1.3}") double roadFactor,
+            @Value("${location.eta.default-speed-kmh:40}") double defaultSpeedKmh,
+            @Value("${location.eta.min-speed-kmh:5}") double minSpeedKmh,
+            @Value("${location.eta.smoothing-seconds:120}") double smoothingSeconds,
+            @Value("${location.eta.publish-threshold-seconds:60}") long publishThresholdSeconds) {
+        this.locationJdbcRepository = locationJdbcRepository;
+        this.notificationService = notificationService;
+        this.activeTripRegistry = activeTripRegistry;
+        this.roadFactor = roadFactor;
+        this.defaultSpeedMps = defaultSpeedKmh / 3.6;
+        this.minSpeedMps = minSpeedKmh / 3.6;
+        this.smoothingMillis = smoothingSeconds * 1000;
+        this.publishThresholdMillis = publishThresholdSeconds * 1000;
+    }
+
+    /**
+     * Updates the driver's speed and the ETAs of its active trips from a fix.
+     *
+     * @param trips the driver's active trips, as returned by {@link ActiveTripRegistry#getTrips}
+     */
+    public void onLocation(DriverLocation location, List<ActiveTripDto> trips) {
+        if (trips.isEmpty()) {
+            speedByDriver.remove(location.getDriverId());
+            return;
+        }
+        long fixMillis = DriverPositionStore.toEpochMillis(location.getTimestamp());
+        double speedMps = speedByDriver.computeIfAbsent(location.getDriverId(), id -> new SpeedState())
+                .update(fixMillis, location.getLatitude(), location.getLongitude());
+
+        for (ActiveTripDto trip : trips) {
+            if (trip.getDeliveryLatitude() == null || trip.getDeliveryLongitude() == null) {
+                continue;
+            }
+            double remainingKm = remainingDistanceKm(trip, location.getLatitude(), location.getLongitude()) * roadFactor;
+            long etaMillis = fixMillis + (long) (remainingKm * 1000 / Math.max(speedMps, minSpeedMps) * 1000);
+
+            Long published = publishedEtaByBooking.get(trip.getBookingId());
+            if (published != null && Math.abs(etaMillis - published) < publishThresholdMillis) {
+                continue;
+            }
+            publishedEtaByBooking.put(trip.getBookingId(), etaMillis);
+            LocalDateTime estimatedArrival = DriverPositionStore.fromEpochMillis(etaMillis);
+            pendingEtas.put(trip.getBookingId(), estimatedArrival);
+            notificationService.broadcastEta(new BookingEtaDto(trip.getBookingId(), location.getDriverId(),
+                    estimatedArrival, remainingKm, speedMps * 3.6));
+            publishedEtas.increment();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.eta.flush-interval-ms:10000}")
+    public void flush() {
+        // Forget drivers and bookings that are no longer active
+        speedByDriver.keySet().removeIf(driverId -> activeTripRegistry.getTrips(driverId).isEmpty());
+        publishedEtaByBooking.keySet().retainAll(activeBookingIds());
+
+        if (pendingEtas.isEmpty()) {
+            return;
+        }
+        Map<String, LocalDateTime> batch = new HashMap<>();
+        for (String bookingId : pendingEtas.keySet()) {
+            LocalDateTime estimatedArrival = pendingEtas.remove(bookingId);
+            if (estimatedArrival != null) {
+                batch.put(bookingId, estimatedArrival);
+            }
+        }
+        try {
+            locationJdbcRepository.updateEstimatedArrivals(batch);
+            log.debug("Persisted ETA for {} bookings", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to persist {} ETAs, retrying on next flush: {}", batch.size(), e.getMessage());
+            batch.forEach(pendingEtas::putIfAbsent);
+        }
+    }
+
+    public long getPublishedEtas() {
+        return publishedEtas.sum();
+    }
+
+    private Set<String> activeBookingIds() {
+        Set<String> bookingIds = new HashSet<>();
+        for (String driverId : speedByDriver.keySet()) {
+            for (ActiveTripDto trip : activeTripRegistry.getTrips(driverId)) {
+                bookingIds.add(trip.getBookingId());
+            }
+        }
+        return bookingIds;
+    }
+
+    private static double remainingDistanceKm(ActiveTripDto trip, double latitude, double longitude) {
+        boolean beforePickup = (trip.getStatus() == Booking.BookingStatus.CONFIRMED
+                || trip.getStatus() == Booking.BookingStatus.ASSIGNED)
+                && trip.getPickupLatitude() != null && trip.getPickupLongitude() != null;
+        if (beforePickup) {
+            return GeoUtils.distanceKm(latitude, longitude, trip.getPickupLatitude(), trip.getPickupLongitude())
+                    + GeoUtils.distanceKm(trip.getPickupLatitude(), trip.getPickupLongitude(),
+                            trip.getDeliveryLatitude(), trip.getDeliveryLongitude());
+        }
+        return GeoUtils.distanceKm(latitude, longitude, trip.getDeliveryLatitude(), trip.getDeliveryLongitude());
+    }
+
+    /**
+     * Time-weighted EWMA of ground speed for one driver.
+     */
+    private final class SpeedState {
+
+        private long lastMillis = Long.MIN_VALUE;
+        private double lastLatitude;
+        private double lastLongitude;
+        private double smoothedMps = defaultSpeedMps;
+
+        synchronized double update(long fixMillis, double latitude, double longitude) {
+            long elapsed = fixMillis - lastMillis;
+            if (lastMillis == Long.MIN_VALUE || elapsed > MAX_SAMPLE_GAP_MILLIS) {
+                // No usable previous sample: start again from the default speed
+                smoothedMps = defaultSpeedMps;
+            } else if (elapsed >= 1000) {
+                double sampleMps = GeoUtils.distanceKm(lastLatitude, lastLongitude, latitude, longitude) * 1000
+                        / (elapsed / 1000.0);
+                if (sampleMps > MAX_PLAUSIBLE_SPEED_MPS) {
+                    return smoothedMps;
+                }
+                double alpha = 1 - Math.exp(-elapsed / smoothingMillis);
+                smoothedMps += alpha * (sampleMps - smoothedMps);
+            } else {
+                // Too close to the previous sample to give a meaningful speed
+                return smoothedMps;
+            }
+            lastMillis = fixMillis;
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+            return smoothedMps;
+        }
+    }
+}
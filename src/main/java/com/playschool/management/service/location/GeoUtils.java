@@ -0,0 +1,67 @@
+package com.playschool.management.service.location;
+
+/**
+ * Spherical-earth helpers shared by the location components.
+ */
+public final class GeoUtils {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    // Web Mercator (slippy map) tiles stop short of the poles
+    private static final double MAX_TILE_LATITUDE = 85.05112878;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * Great-circle (haversine) distance between two points in kilometres.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Column of the Web Mercator tile holding the longitude at the given zoom.
+     */
+    public static int tileX(double longitude, int zoom) {
+        int tiles = 1 << zoom;
+        int x = (int) Math.floor((longitude + 180) / 360 * tiles);
+        return Math.min(tiles - 1, Math.max(0, x));
+    }
+
+    /**
+     * Row of the Web Mercator tile holding the latitude at the given zoom.
+     */
+    public static int tileY(double latitude, int zoom) {
+        int tiles = 1 << zoom;
+        double radians = Math.toRadians(Math.max(-MAX_TILE_LATITUDE, Math.min(MAX_TILE_LATITUDE, latitude)));
+        int y = (int) Math.floor((1 - Math.log(Math.tan(radians) + 1 / Math.cos(radians)) / Math.PI) / 2 * tiles);
+        return Math.min(tiles - 1, Math.max(0, y));
+    }
+
+    /**
+     * Latitude of the northern edge of tile row {@code y}.
+     */
+    public static double tileNorthLatitude(int y, int zoom) {
+        double n = Math.PI - 2 * Math.PI * y / (1 << zoom);
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+    /**
+     * Longitude of the western edge of tile column {@code x}.
+     */
+    public static double tileWestLongitude(int x, int zoom) {
+        return x / (double) (1 << zoom) * 360 - 180;
+    }
+
+    public static boolean isValidCoordinate(double latitude, double longitude) {
+        return latitude >= -90 && latitude <= 90 && longitude >= -180 && longitude <= 180;
+    }
+}
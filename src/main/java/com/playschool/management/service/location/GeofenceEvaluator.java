@@ -0,0 +1,269 @@
+package com.playschool.management.service.location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.ActiveTripDto;
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.entity.Booking;
+import com.playschool.management.entity.BookingStatusUpdate;
+import com.playschool.management.repository.BookingStatusUpdateRepository;
+
+/**
+ * Detects arrival at the pickup and delivery points of a driver's active bookings.
+ *
+ * Only arrivals are recorded, as PICKUP_STARTED and DELIVERY_STARTED. Leaving a fence
+ * only re-arms it: it says nothing about whether the pickup or delivery was completed,
+ * and BookingStatusUpdate has no type for it. The delivery fence is only armed once the
+ * booking has been picked up, so driving past the drop-off on the way to the pickup
+ * records nothing.
+ *
+ * Each driver has a small cached array of circular fences built from its active
+ * trips, so a fix costs one squared-distance check per fence and never touches the
+ * database. Fences use hysteresis (enter radius smaller than exit radius) so GPS
+ * jitter at the boundary does not flap. Transitions are queued and written as
+ * BookingStatusUpdate rows by a scheduled flush. A batch that fails to save is retried
+ * on a few more flushes and then dropped, and the queue is capped, so a bad row or a
+ * database outage costs bounded memory and is logged rather than retried forever.
+ */
+@Component
+public class GeofenceEvaluator {
+
+    private static final Logger log = LoggerFactory.getLogger(GeofenceEvaluator.class);
+
+    private static final double METERS_PER_DEGREE = GeoUtils.KM_PER_DEGREE_LATITUDE * 1000;
+    private static final String UPDATED_BY_SYSTEM = "SYSTEM";
+
+    private final BookingStatusUpdateRepository bookingStatusUpdateRepository;
+    private final ActiveTripRegistry activeTripRegistry;
+    private final double enterRadiusSquared;
+    private final double exitRadiusSquared;
+    private final int maxPending;
+    private final int maxFlushAttempts;
+
+    private final Map<String, DriverFences> fencesByDriver = new ConcurrentHashMap<>();
+    private final Queue<PendingUpdate> pendingUpdates = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() walks the queue
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedSinceFlush = new AtomicLong();
+    private final LongAdder transitions = new LongAdder();
+    private final LongAdder droppedUpdates = new LongAdder();
+
+    public GeofenceEvaluator(BookingStatusUpdateRepository bookingStatusUpdateRepository,
+            ActiveTripRegistry activeTripRegistry,
+            @Value("${location.geofence.enter-radius-m:150}") double enterRadiusMeters,
+            @Value("${location.geofence.exit-radius-m:250}") double exitRadiusMeters,
+            @Value("${location.geofence.max-pending:10000}") int maxPending,
+            @Value("${location.geofence.max-flush-attempts:5}") int maxFlushAttempts) {
+        this.bookingStatusUpdateRepository = bookingStatusUpdateRepository;
+        this.activeTripRegistry = activeTripRegistry;
+        this.maxPending = maxPending;
+        this.maxFlushAttempts = Math.max(1, maxFlushAttempts);
+        this.enterRadiusSquared = enterRadiusMeters * enterRadiusMeters;
+        this.exitRadiusSquared = Math.max(enterRadiusMeters, exitRadiusMeters) * Math.max(enterRadiusMeters, exitRadiusMeters);
+    }
+
+    /**
+     * Checks a fix against the fences of the driver's active trips.
+     *
+     * @param trips the driver's active trips, as returned by {@link ActiveTripRegistry#getTrips}
+     */
+    public void evaluate(DriverLocation location, List<ActiveTripDto> trips) {
+        String driverId = location.getDriverId();
+        if (trips.isEmpty()) {
+            fencesByDriver.remove(driverId);
+            return;
+        }
+        DriverFences fences = fencesByDriver.get(driverId);
+        if (fences == null || fences.trips != trips) {
+            // First fix of the driver or the registry has been reloaded: rebuild, keeping known states
+            fences = new DriverFences(trips, fences);
+            fencesByDriver.put(driverId, fences);
+        }
+
+        double latitude = location.getLatitude();
+        double longitude = location.getLongitude();
+        synchronized (fences) {
+            for (Fence fence : fences.fences) {
+                double dy = (latitude - fence.latitude) * METERS_PER_DEGREE;
+                double dx = (longitude - fence.longitude) * fence.metersPerDegreeLongitude;
+                double distanceSquared = dx * dx + dy * dy;
+                if (!fence.inside && distanceSquared <= enterRadiusSquared) {
+                    fence.inside = true;
+                    transitions.increment();
+                    queueArrival(fence, driverId, latitude, longitude);
+                } else if (fence.inside && distanceSquared > exitRadiusSquared) {
+                    fence.inside = false;
+                    transitions.increment();
+                    log.debug("Driver {} left {} fence of booking {}", driverId, fence.kind, fence.bookingId);
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.geofence.flush-interval-ms:1000}")
+    public void flush() {
+        // Forget drivers whose trips have all ended
+        fencesByDriver.keySet().removeIf(driverId -> activeTripRegistry.getTrips(driverId).isEmpty());
+
+        long dropped = droppedSinceFlush.getAndSet(0);
+        if (dropped > 0) {
+            log.warn("Dropped {} geofence status updates: {} already pending", dropped, maxPending);
+        }
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<PendingUpdate> batch = new ArrayList<>();
+        PendingUpdate pending;
+        while ((pending = pendingUpdates.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(pending);
+        }
+        try {
+            bookingStatusUpdateRepository.saveAll(batch.stream().map(p -> p.update).toList());
+            log.debug("Recorded {} geofence status updates", batch.size());
+        } catch (RuntimeException e) {
+            int requeued = 0;
+            for (PendingUpdate failed : batch) {
+                // The rolled-back insert already assigned an id; a retry must insert, not merge
+                failed.update.setId(null);
+                if (++failed.attempts < maxFlushAttempts && reserveSlot()) {
+                    pendingUpdates.add(failed);
+                    requeued++;
+                } else {
+                    droppedUpdates.increment();
+                }
+            }
+            log.error("Failed to record {} geofence status updates ({} kept for retry, {} dropped after {} attempts or over the cap): {}",
+                    batch.size(), requeued, batch.size() - requeued, maxFlushAttempts, e.getMessage());
+        }
+    }
+
+    public long getTransitions() {
+        return transitions.sum();
+    }
+
+    public int getPendingUpdates() {
+        return pendingCount.get();
+    }
+
+    public long getDroppedUpdates() {
+        return droppedUpdates.sum();
+    }
+
+    private void queueArrival(Fence fence, String driverId, double latitude, double longitude) {
+        BookingStatusUpdate update = new BookingStatusUpdate();
+        update.setBookingId(fence.bookingId);
+        update.setUpdateType(fence.kind.updateType);
+        update.setDescription("Driver arrived at " + fence.kind.point + " location");
+        update.setUpdatedById(driverId);
+        update.setUpdatedByType(UPDATED_BY_SYSTEM);
+        update.setLatitude(latitude);
+        update.setLongitude(longitude);
+        if (!reserveSlot()) {
+            droppedUpdates.increment();
+            droppedSinceFlush.incrementAndGet();
+            return;
+        }
+        pendingUpdates.add(new PendingUpdate(update));
+        log.debug("Driver {} entered {} fence of booking {}", driverId, fence.kind, fence.bookingId);
+    }
+
+    private enum FenceKind {
+        // Completion is for the driver or the app to report
+        PICKUP(BookingStatusUpdate.UpdateType.PICKUP_STARTED, "pickup"),
+        DELIVERY(BookingStatusUpdate.UpdateType.DELIVERY_STARTED, "delivery");
+
+        final BookingStatusUpdate.UpdateType updateType;
+        final String point;
+
+        FenceKind(BookingStatusUpdate.UpdateType updateType, String point) {
+            this.updateType = updateType;
+            this.point = point;
+        }
+    }
+
+    private boolean reserveSlot() {
+        if (pendingCount.incrementAndGet() > maxPending) {
+            pendingCount.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    private static final class PendingUpdate {
+
+        final BookingStatusUpdate update;
+        int attempts;
+
+        PendingUpdate(BookingStatusUpdate update) {
+            this.update = update;
+        }
+    }
+
+    private static final class Fence {
+
+        final String bookingId;
+        final FenceKind kind;
+        final double latitude;
+        final double longitude;
+        final double metersPerDegreeLongitude;
+        boolean inside;
+
+        Fence(String bookingId, FenceKind kind, double latitude, double longitude) {
+            this.bookingId = bookingId;
+            this.kind = kind;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        }
+    }
+
+    private static final class DriverFences {
+
+        final List<ActiveTripDto> trips;
+        final Fence[] fences;
+
+        DriverFences(List<ActiveTripDto> trips, DriverFences previous) {
+            this.trips = trips;
+            List<Fence> built = new ArrayList<>(trips.size() * 2);
+            for (ActiveTripDto trip : trips) {
+                if (trip.getPickupLatitude() != null && trip.getPickupLongitude() != null) {
+                    built.add(new Fence(trip.getBookingId(), FenceKind.PICKUP, trip.getPickupLatitude(), trip.getPickupLongitude()));
+                }
+                if (isPickedUp(trip) && trip.getDeliveryLatitude() != null && trip.getDeliveryLongitude() != null) {
+                    built.add(new Fence(trip.getBookingId(), FenceKind.DELIVERY, trip.getDeliveryLatitude(), trip.getDeliveryLongitude()));
+                }
+            }
+            if (previous != null) {
+                synchronized (previous) {
+                    for (Fence fence : built) {
+                        for (Fence old : previous.fences) {
+                            if (old.kind == fence.kind && old.bookingId.equals(fence.bookingId)) {
+                                fence.inside = old.inside;
+                            }
+                        }
+                    }
+                }
+            }
+            this.fences = built.toArray(new Fence[0]);
+        }
+
+        private static boolean isPickedUp(ActiveTripDto trip) {
+            return trip.getStatus() == Booking.BookingStatus.PICKED_UP || trip.getStatus() == Booking.BookingStatus.IN_TRANSIT;
+        }
+    }
+}
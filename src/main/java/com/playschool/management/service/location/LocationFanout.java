@@ -0,0 +1,30 @@
+package com.playschool.management.service.location;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * Carries live fixes between application nodes, so a dispatcher connected to one
+ * node sees drivers posting to another.
+ *
+ * Each node publishes the fixes it broadcast locally once per flush tick, as one
+ * batch, and hands batches received from other nodes to its listener. A node never
+ * receives its own batches back. The implementation is picked with
+ * {@code location.fanout.type}: {@code loopback} (default, in-process) or
+ * {@code postgres} (LISTEN/NOTIFY).
+ */
+public interface LocationFanout {
+
+    /**
+     * Sends one flush tick's fixes to the other nodes. Delivery is best effort: a
+     * batch that cannot be sent is dropped, the next tick carries newer fixes.
+     */
+    void publish(List<DriverLocation> locations);
+
+    /**
+     * Sets the callback that receives batches published by other nodes.
+     */
+    void setListener(Consumer<List<DriverLocation>> listener);
+}
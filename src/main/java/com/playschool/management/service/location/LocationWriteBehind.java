@@ -0,0 +1,65 @@
+package com.playschool.management.service.location;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.repository.LocationJdbcRepository;
+
+/**
+ * Write-behind buffer for the current-location columns on vehicles and bookings.
+ *
+ * Only the newest fix per driver is kept between flushes, so the database sees at
+ * most one row update per driver per flush interval no matter how often phones report.
+ */
+@Component
+public class LocationWriteBehind {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationWriteBehind.class);
+
+    private final Map<String, DriverLocation> pending = new ConcurrentHashMap<>();
+    private final LocationJdbcRepository locationJdbcRepository;
+
+    public LocationWriteBehind(LocationJdbcRepository locationJdbcRepository) {
+        this.locationJdbcRepository = locationJdbcRepository;
+    }
+
+    public void enqueue(DriverLocation location) {
+        pending.put(location.getDriverId(), location);
+    }
+
+    @Scheduled(fixedDelayString = "${location.persistence.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<DriverLocation> batch = new ArrayList<>(pending.size());
+        for (String driverId : pending.keySet()) {
+            DriverLocation location = pending.remove(driverId);
+            if (location != null) {
+                batch.add(location);
+            }
+        }
+        try {
+            locationJdbcRepository.updateCurrentLocations(batch);
+            log.debug("Persisted current location for {} drivers", batch.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to persist {} location fixes, retrying on next flush: {}", batch.size(), e.getMessage());
+            // Put the fixes back unless a newer one has arrived in the meantime
+            for (DriverLocation location : batch) {
+                pending.putIfAbsent(location.getDriverId(), location);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
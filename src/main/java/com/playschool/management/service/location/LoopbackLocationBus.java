@@ -0,0 +1,38 @@
+package com.playschool.management.service.location;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * In-process bus joining {@link LoopbackLocationFanout} nodes. Each application
+ * context gets its own bus, so separate contexts in one JVM (cached test contexts,
+ * for instance) never see each other's fixes. A test that wants several nodes
+ * attaches them to the same bus.
+ */
+@Component
+@ConditionalOnProperty(name = "location.fanout.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackLocationBus {
+
+    private final List<LoopbackLocationFanout> nodes = new CopyOnWriteArrayList<>();
+
+    void join(LoopbackLocationFanout node) {
+        nodes.add(node);
+    }
+
+    void leave(LoopbackLocationFanout node) {
+        nodes.remove(node);
+    }
+
+    void publish(LoopbackLocationFanout sender, List<DriverLocation> batch) {
+        for (LoopbackLocationFanout node : nodes) {
+            if (node != sender) {
+                node.deliver(batch);
+            }
+        }
+    }
+}
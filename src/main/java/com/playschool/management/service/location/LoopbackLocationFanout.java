@@ -0,0 +1,56 @@
+package com.playschool.management.service.location;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process {@link LocationFanout}: every instance attached to the same
+ * {@link LoopbackLocationBus} is a node and a batch is handed synchronously to every
+ * other node on that bus.
+ *
+ * The context's own bus has no other nodes, so this is the single-node default and
+ * publishing costs nothing. Tests attach a second instance to the context's bus to
+ * stand in for another node without a database.
+ */
+@Component
+@ConditionalOnProperty(name = "location.fanout.type", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackLocationFanout implements LocationFanout {
+
+    private final LoopbackLocationBus bus;
+
+    private volatile Consumer<List<DriverLocation>> listener = locations -> { };
+
+    public LoopbackLocationFanout(LoopbackLocationBus bus) {
+        this.bus = bus;
+        bus.join(this);
+    }
+
+    @Override
+    public void publish(List<DriverLocation> locations) {
+        bus.publish(this, List.copyOf(locations));
+    }
+
+    @Override
+    public void setListener(Consumer<List<DriverLocation>> listener) {
+        this.listener = listener;
+    }
+
+    void deliver(List<DriverLocation> batch) {
+        listener.accept(batch);
+    }
+
+    /**
+     * Detaches this node from its bus.
+     */
+    @PreDestroy
+    public void close() {
+        bus.leave(this);
+    }
+}
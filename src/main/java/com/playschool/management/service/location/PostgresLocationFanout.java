@@ -0,0 +1,189 @@
+package com.playschool.management.service.location;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.DriverLocation;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * {@link LocationFanout} over Postgres LISTEN/NOTIFY.
+ *
+ * A tick's batch is split into NOTIFY payloads below the server's 8000 byte limit and
+ * sent with a single pg_notify statement. Every payload carries this node's id so the
+ * node can skip its own notifications. Listening happens on a dedicated connection
+ * outside the pool, polled by a daemon thread that reconnects after failures.
+ */
+@Component
+@ConditionalOnProperty(name = "location.fanout.type", havingValue = "postgres")
+public class PostgresLocationFanout implements LocationFanout {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresLocationFanout.class);
+
+    private static final Pattern CHANNEL_NAME = Pattern.compile("[a-z_][a-z0-9_]{0,62}");
+    private static final int MAX_PAYLOAD_BYTES = 7900;
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, payload) FROM unnest(?::text[]) AS payload";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectMapper objectMapper;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Consumer<List<DriverLocation>> listener = locations -> { };
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostgresLocationFanout(JdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper, @Value("${location.fanout.channel:driver_locations}") String channel) {
+        if (!CHANNEL_NAME.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid location fan-out channel name: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSourceProperties = dataSourceProperties;
+        this.objectMapper = objectMapper;
+        this.channel = channel;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listen, "location-fanout-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        listenerThread.join(POLL_TIMEOUT_MILLIS * 2);
+    }
+
+    @Override
+    public void publish(List<DriverLocation> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+        try {
+            String[] payloads = toPayloads(locations);
+            jdbcTemplate.query(NOTIFY_SQL, ps -> {
+                ps.setString(1, channel);
+                ps.setArray(2, ps.getConnection().createArrayOf("text", payloads));
+            }, rs -> { });
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Failed to publish {} fixes to other nodes: {}", locations.size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void setListener(Consumer<List<DriverLocation>> listener) {
+        this.listener = listener;
+    }
+
+    private String[] toPayloads(List<DriverLocation> locations) throws JsonProcessingException {
+        String header = "{\"node\":\"" + nodeId + "\",\"locations\":[";
+        String footer = "]}";
+        int envelopeBytes = header.length() + footer.length();
+
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(header);
+        int payloadBytes = envelopeBytes;
+        int count = 0;
+        for (DriverLocation location : locations) {
+            String json = objectMapper.writeValueAsString(location);
+            int jsonBytes = json.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (count > 0 && payloadBytes + jsonBytes > MAX_PAYLOAD_BYTES) {
+                payloads.add(payload.append(footer).toString());
+                payload = new StringBuilder(header);
+                payloadBytes = envelopeBytes;
+                count = 0;
+            }
+            if (count > 0) {
+                payload.append(',');
+            }
+            payload.append(json);
+            payloadBytes += jsonBytes;
+            count++;
+        }
+        payloads.add(payload.append(footer).toString());
+        return payloads.toArray(new String[0]);
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for location fan-out on channel {} as node {}", channel, nodeId);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        Arrays.stream(notifications).forEach(notification -> receive(notification.getParameter()));
+                    }
+                }
+            } catch (SQLException e) {
+                log.warn("Location fan-out listener failed, reconnecting in {} ms: {}", RECONNECT_DELAY_MILLIS, e.getMessage());
+                sleepBeforeReconnect();
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        try {
+            Envelope envelope = objectMapper.readValue(payload, Envelope.class);
+            if (!nodeId.equals(envelope.node) && envelope.locations != null && !envelope.locations.isEmpty()) {
+                listener.accept(envelope.locations);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring malformed location fan-out payload: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Failed to deliver fixes from another node: {}", e.getMessage(), e);
+        }
+    }
+
+    private void sleepBeforeReconnect() {
+        try {
+            Thread.sleep(RECONNECT_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    /**
+     * NOTIFY payload: the publishing node and part of its tick's batch.
+     */
+    static final class Envelope {
+
+        public String node;
+        public List<DriverLocation> locations;
+    }
+}
@@ -0,0 +1,150 @@
+package com.playschool.management.service.location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+import com.playschool.management.dto.SessionQueueDto;
+
+/**
+ * Applies the slow-session policy to every STOMP WebSocket session.
+ *
+ * Registered as a transport decorator factory; each new session is wrapped in a
+ * {@link ConflatingSessionDecorator} before the STOMP handler sees it. Keeps the
+ * live sessions for per-session queue depth metrics and counts conflated and dropped
+ * frames and evicted sessions.
+ */
+@Component
+public class SessionBackpressureManager implements WebSocketHandlerDecoratorFactory {
+
+    private final int sendTimeLimit;
+    private final int sendBufferSizeLimit;
+    private final List<String> conflatePrefixes;
+    // Runs one drain task per session with queued frames; a drain blocks for as long as its socket does
+    private final Executor writer = writerExecutor();
+
+    private final Map<String, ConflatingSessionDecorator> sessions = new ConcurrentHashMap<>();
+    private final LongAdder conflatedFrames = new LongAdder();
+    private final LongAdder droppedFrames = new LongAdder();
+    private final LongAdder evictedSessions = new LongAdder();
+
+    public SessionBackpressureManager(@Value("${websocket.send-time-limit-ms:10000}") int sendTimeLimit,
+            @Value("${websocket.send-buffer-size-limit:524288}") int sendBufferSizeLimit,
+            @Value("${websocket.conflate-destination-prefixes:/topic/location/,/topic/booking/}") List<String> conflatePrefixes) {
+        this.sendTimeLimit = sendTimeLimit;
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+        this.conflatePrefixes = List.copyOf(conflatePrefixes);
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                ConflatingSessionDecorator decorated =
+                        new ConflatingSessionDecorator(session, SessionBackpressureManager.this, writer);
+                sessions.put(session.getId(), decorated);
+                super.afterConnectionEstablished(decorated);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                sessions.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    /**
+     * Queue depth of every open session, deepest first.
+     */
+    public List<SessionQueueDto> getSessionQueues() {
+        List<SessionQueueDto> queues = new ArrayList<>(sessions.size());
+        for (ConflatingSessionDecorator session : sessions.values()) {
+            queues.add(session.snapshot());
+        }
+        queues.sort(Comparator.comparingInt(SessionQueueDto::getQueuedBytes).reversed());
+        return queues;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    public long getQueuedFrames() {
+        long queued = 0;
+        for (ConflatingSessionDecorator session : sessions.values()) {
+            queued += session.getQueuedFrames();
+        }
+        return queued;
+    }
+
+    public long getConflatedFrames() {
+        return conflatedFrames.sum();
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+
+    public long getEvictedSessions() {
+        return evictedSessions.sum();
+    }
+
+    public int getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public int getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    // Virtual threads need Java 21 (the Docker image); older runtimes reuse pooled daemon threads
+    private static Executor writerExecutor() {
+        if (Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ws-writer-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ws-writer-");
+        threadFactory.setDaemon(true);
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+
+    boolean isConflatable(String destination) {
+        for (String prefix : conflatePrefixes) {
+            if (destination.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void onConflated() {
+        conflatedFrames.increment();
+    }
+
+    void onDropped() {
+        droppedFrames.increment();
+    }
+
+    void onEvicted() {
+        evictedSessions.increment();
+    }
+}
@@ -0,0 +1,143 @@
+package com.playschool.management.service.location;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.dto.LocationTileFrame;
+
+/**
+ * Fans live fixes out to map tiles.
+ *
+ * Fixes are conflated per driver between ticks. On each tick every fix is bucketed
+ * into its tile at each zoom level that has subscribers, and each subscribed tile
+ * that changed gets exactly one {@link LocationTileFrame}. A dashboard watching a
+ * region therefore holds a handful of tile subscriptions instead of one per driver.
+ */
+@Component
+public class TileBroadcaster {
+
+    // STOMP header carrying the frame's sequence, read by TileFrameConflationInterceptor
+    public static final String SEQUENCE_HEADER = "tile-seq";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final TileSubscriptionRegistry tileSubscriptionRegistry;
+    private final DriverPositionStore positionStore;
+
+    private final Map<String, DriverLocation> pendingLocations = new ConcurrentHashMap<>();
+    private final Map<Long, Long> sequenceByTile = new ConcurrentHashMap<>();
+    // zoom -> driverId -> tile key of the driver's last broadcast fix; tick thread only
+    private final Map<Integer, Map<String, Long>> lastTileByZoom = new HashMap<>();
+    private final LongAdder sentFrames = new LongAdder();
+
+    public TileBroadcaster(SimpMessagingTemplate messagingTemplate, TileSubscriptionRegistry tileSubscriptionRegistry,
+            DriverPositionStore positionStore) {
+        this.messagingTemplate = messagingTemplate;
+        this.tileSubscriptionRegistry = tileSubscriptionRegistry;
+        this.positionStore = positionStore;
+    }
+
+    public void broadcastLocation(DriverLocation location) {
+        if (tileSubscriptionRegistry.hasSubscriptions()) {
+            pendingLocations.put(location.getDriverId(), location);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${location.broadcast.flush-interval-ms:500}")
+    public void flushTiles() {
+        int[] zooms = tileSubscriptionRegistry.getSubscribedZooms();
+        lastTileByZoom.keySet().removeIf(zoom -> !contains(zooms, zoom));
+        sequenceByTile.keySet().removeIf(tileKey -> !tileSubscriptionRegistry.isSubscribed(tileKey));
+        if (pendingLocations.isEmpty()) {
+            return;
+        }
+        List<DriverLocation> locations = new ArrayList<>(pendingLocations.size());
+        for (String driverId : pendingLocations.keySet()) {
+            DriverLocation location = pendingLocations.remove(driverId);
+            if (location != null) {
+                locations.add(location);
+            }
+        }
+
+        Map<Long, FrameBuilder> frames = new HashMap<>();
+        for (int zoom : zooms) {
+            Map<String, Long> lastTiles = lastTileByZoom.computeIfAbsent(zoom, key -> new HashMap<>());
+            for (DriverLocation location : locations) {
+                long tileKey = TileSubscriptionRegistry.tileKey(zoom,
+                        GeoUtils.tileX(location.getLongitude(), zoom), GeoUtils.tileY(location.getLatitude(), zoom));
+                Long previousKey = lastTiles.put(location.getDriverId(), tileKey);
+                if (previousKey != null && previousKey != tileKey && tileSubscriptionRegistry.isSubscribed(previousKey)) {
+                    frames.computeIfAbsent(previousKey, key -> new FrameBuilder()).removed.add(location.getDriverId());
+                }
+                if (tileSubscriptionRegistry.isSubscribed(tileKey)) {
+                    frames.computeIfAbsent(tileKey, key -> new FrameBuilder()).updated.add(location);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, FrameBuilder> entry : frames.entrySet()) {
+            long tileKey = entry.getKey();
+            long sequence = sequenceByTile.merge(tileKey, 1L, Long::sum);
+            int zoom = TileSubscriptionRegistry.zoomOf(tileKey);
+            int x = TileSubscriptionRegistry.xOf(tileKey);
+            int y = TileSubscriptionRegistry.yOf(tileKey);
+            LocationTileFrame frame = new LocationTileFrame(zoom, x, y, sequence,
+                    entry.getValue().updated, entry.getValue().removed);
+            messagingTemplate.convertAndSend(destination(zoom, x, y), frame,
+                    Collections.singletonMap(SEQUENCE_HEADER, Long.toString(sequence)));
+            sentFrames.increment();
+        }
+    }
+
+    /**
+     * Every driver currently inside the tile, stamped with the tile's current sequence;
+     * frames with a higher sequence apply on top of it.
+     */
+    public LocationTileFrame snapshot(int zoom, int x, int y) {
+        long sequence = sequenceByTile.getOrDefault(TileSubscriptionRegistry.tileKey(zoom, x, y), 0L);
+        double north = GeoUtils.tileNorthLatitude(y, zoom);
+        double south = GeoUtils.tileNorthLatitude(y + 1, zoom);
+        double west = GeoUtils.tileWestLongitude(x, zoom);
+        double east = GeoUtils.tileWestLongitude(x + 1, zoom);
+        List<DriverLocation> drivers = new ArrayList<>();
+        for (DriverLocation location : positionStore.findWithin(south, north, west, east)) {
+            // Box edges are inclusive; keep only fixes that really map to this tile
+            if (GeoUtils.tileX(location.getLongitude(), zoom) == x && GeoUtils.tileY(location.getLatitude(), zoom) == y) {
+                drivers.add(location);
+            }
+        }
+        return new LocationTileFrame(zoom, x, y, sequence, drivers, Collections.emptyList());
+    }
+
+    public long getSentFrames() {
+        return sentFrames.sum();
+    }
+
+    public static String destination(int zoom, int x, int y) {
+        return TileSubscriptionRegistry.TILE_DESTINATION_PREFIX + zoom + "/" + x + "/" + y;
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class FrameBuilder {
+
+        final List<DriverLocation> updated = new ArrayList<>();
+        final List<String> removed = new ArrayList<>();
+    }
+}
@@ -0,0 +1,70 @@
+package com.playschool.management.service.location;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.ExecutorChannelInterceptor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+/**
+ * Client outbound channel interceptor that keeps only the newest tile frame per
+ * session and tile.
+ *
+ * When a session's frames queue up in the outbound channel, a tile frame that has
+ * been overtaken by a newer frame for the same tile and session is dropped before it
+ * is written. The client notices the sequence gap and reloads the tile snapshot, so
+ * a slow consumer catches up with one frame instead of replaying the backlog.
+ */
+@Component
+public class TileFrameConflationInterceptor implements ExecutorChannelInterceptor {
+
+    // sessionId -> destination -> newest sequence handed to the channel
+    private final Map<String, Map<String, Long>> latestBySession = new ConcurrentHashMap<>();
+    private final LongAdder droppedFrames = new LongAdder();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        Map<String, Object> headers = message.getHeaders();
+        String sequence = NativeMessageHeaderAccessor.getFirstNativeHeader(TileBroadcaster.SEQUENCE_HEADER, headers);
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(headers);
+        String destination = SimpMessageHeaderAccessor.getDestination(headers);
+        if (sequence != null && sessionId != null && destination != null) {
+            latestBySession.computeIfAbsent(sessionId, id -> new ConcurrentHashMap<>())
+                    .merge(destination, Long.parseLong(sequence), Math::max);
+        }
+        return message;
+    }
+
+    @Override
+    public Message<?> beforeHandle(Message<?> message, MessageChannel channel, MessageHandler handler) {
+        Map<String, Object> headers = message.getHeaders();
+        String sequence = NativeMessageHeaderAccessor.getFirstNativeHeader(TileBroadcaster.SEQUENCE_HEADER, headers);
+        if (sequence == null) {
+            return message;
+        }
+        Map<String, Long> latest = latestBySession.get(SimpMessageHeaderAccessor.getSessionId(headers));
+        Long newest = latest != null ? latest.get(SimpMessageHeaderAccessor.getDestination(headers)) : null;
+        if (newest != null && Long.parseLong(sequence) < newest) {
+            droppedFrames.increment();
+            return null;
+        }
+        return message;
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        latestBySession.remove(event.getSessionId());
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames.sum();
+    }
+}
@@ -0,0 +1,158 @@
+package com.playschool.management.service.location;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+/**
+ * Tracks which map tiles have STOMP subscribers, so tile frames are only built for
+ * tiles somebody is watching.
+ *
+ * Tiles are identified by a packed (zoom, x, y) key, see {@link #tileKey}.
+ */
+@Component
+public class TileSubscriptionRegistry {
+
+    public static final String TILE_DESTINATION_PREFIX = "/topic/location/tile/";
+    public static final int MAX_ZOOM = 22;
+
+    private static final Pattern TILE_DESTINATION =
+            Pattern.compile(Pattern.quote(TILE_DESTINATION_PREFIX) + "(\\d{1,2})/(\\d{1,7})/(\\d{1,7})");
+
+    private final Map<Long, Integer> subscribersByTile = new ConcurrentHashMap<>();
+    private final int[] subscribersByZoom = new int[MAX_ZOOM + 1];
+    // sessionId -> subscriptionId -> tile key; guarded by this
+    private final Map<String, Map<String, Long>> tilesBySession = new HashMap<>();
+    private volatile int[] subscribedZooms = new int[0];
+
+    @EventListener
+    public void onSubscribe(SessionSubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        String destination = accessor.getDestination();
+        if (destination == null || !destination.startsWith(TILE_DESTINATION_PREFIX)) {
+            return;
+        }
+        long tileKey = parseTileKey(destination);
+        if (tileKey < 0 || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        synchronized (this) {
+            Long previous = tilesBySession.computeIfAbsent(accessor.getSessionId(), id -> new HashMap<>())
+                    .put(accessor.getSubscriptionId(), tileKey);
+            if (previous != null) {
+                release(previous);
+            }
+            subscribersByTile.merge(tileKey, 1, Integer::sum);
+            subscribersByZoom[zoomOf(tileKey)]++;
+            publishZooms();
+        }
+    }
+
+    @EventListener
+    public void onUnsubscribe(SessionUnsubscribeEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.wrap(event.getMessage());
+        synchronized (this) {
+            Map<String, Long> tiles = tilesBySession.get(accessor.getSessionId());
+            Long tileKey = tiles != null ? tiles.remove(accessor.getSubscriptionId()) : null;
+            if (tileKey != null) {
+                release(tileKey);
+                publishZooms();
+            }
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        synchronized (this) {
+            Map<String, Long> tiles = tilesBySession.remove(event.getSessionId());
+            if (tiles != null && !tiles.isEmpty()) {
+                tiles.values().forEach(this::release);
+                publishZooms();
+            }
+        }
+    }
+
+    public boolean isSubscribed(long tileKey) {
+        return subscribersByTile.containsKey(tileKey);
+    }
+
+    public boolean hasSubscriptions() {
+        return subscribedZooms.length > 0;
+    }
+
+    /**
+     * Zoom levels with at least one subscribed tile.
+     */
+    public int[] getSubscribedZooms() {
+        return subscribedZooms;
+    }
+
+    public int getSubscribedTileCount() {
+        return subscribersByTile.size();
+    }
+
+    public static long tileKey(int zoom, int x, int y) {
+        return ((long) zoom << 58) | ((long) x << 29) | y;
+    }
+
+    public static int zoomOf(long tileKey) {
+        return (int) (tileKey >>> 58);
+    }
+
+    public static int xOf(long tileKey) {
+        return (int) ((tileKey >>> 29) & 0x1FFFFFFF);
+    }
+
+    public static int yOf(long tileKey) {
+        return (int) (tileKey & 0x1FFFFFFF);
+    }
+
+    public static boolean isValidTile(int zoom, int x, int y) {
+        return zoom >= 0 && zoom <= MAX_ZOOM && x >= 0 && y >= 0 && x < (1 << zoom) && y < (1 << zoom);
+    }
+
+    /**
+     * @return the tile key, or -1 if the destination is not a valid tile destination
+     */
+    static long parseTileKey(String destination) {
+        Matcher matcher = TILE_DESTINATION.matcher(destination);
+        if (!matcher.matches()) {
+            return -1L;
+        }
+        int zoom = Integer.parseInt(matcher.group(1));
+        int x = Integer.parseInt(matcher.group(2));
+        int y = Integer.parseInt(matcher.group(3));
+        return isValidTile(zoom, x, y) ? tileKey(zoom, x, y) : -1L;
+    }
+
+    private void release(long tileKey) {
+        subscribersByTile.computeIfPresent(tileKey, (key, count) -> count > 1 ? count - 1 : null);
+        subscribersByZoom[zoomOf(tileKey)]--;
+    }
+
+    private void publishZooms() {
+        int count = 0;
+        for (int subscribers : subscribersByZoom) {
+            if (subscribers > 0) {
+                count++;
+            }
+        }
+        int[] zooms = new int[count];
+        int index = 0;
+        for (int zoom = 0; zoom <= MAX_ZOOM; zoom++) {
+            if (subscribersByZoom[zoom] > 0) {
+                zooms[index++] = zoom;
+            }
+        }
+        subscribedZooms = zooms;
+    }
+}
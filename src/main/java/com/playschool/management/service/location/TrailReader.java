@@ -0,0 +1,116 @@
+package com.playschool.management.service.location;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import com.playschool.management.service.location.TripTrailRecorder.TrailSlice;
+
+/**
+ * Forward-only cursor over the records of a booking's trail.
+ *
+ * Segments are opened one at a time and read through a small fixed buffer, so memory
+ * use does not depend on the length of the trip. Call {@link #advance()} and then read
+ * the current record with the getters.
+ */
+public final class TrailReader implements Closeable {
+
+    private static final int BUFFER_RECORDS = 256;
+
+    private final List<TrailSlice> slices;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * TrailSegment.RECORD_BYTES);
+    private int sliceIndex = -1;
+    private FileChannel channel;
+    private long position;
+    private long end;
+
+    private long epochMillis;
+    private double latitude;
+    private double longitude;
+
+    TrailReader(List<TrailSlice> slices) {
+        this.slices = slices;
+        buffer.flip();
+    }
+
+    /**
+     * Moves to the next record.
+     *
+     * @return false when the trail has no more records
+     */
+    public boolean advance() throws IOException {
+        while (buffer.remaining() < TrailSegment.RECORD_BYTES) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        epochMillis = buffer.getLong();
+        latitude = buffer.getInt() / TrailSegment.COORDINATE_SCALE;
+        longitude = buffer.getInt() / TrailSegment.COORDINATE_SCALE;
+        return true;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public double getLatitude() {
+        return latitude;
+    }
+
+    public double getLongitude() {
+        return longitude;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        sliceIndex = slices.size();
+    }
+
+    // Refills the buffer from the current segment, moving on to the next one when it is exhausted
+    private boolean fill() throws IOException {
+        if (channel == null || position >= end) {
+            if (!openNextSlice()) {
+                return false;
+            }
+        }
+        buffer.clear();
+        long remaining = end - position;
+        if (remaining < buffer.capacity()) {
+            buffer.limit((int) remaining);
+        }
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                // Segment shorter than its header said: skip the rest of it
+                position = end;
+                break;
+            }
+            position += read;
+        }
+        buffer.flip();
+        return true;
+    }
+
+    private boolean openNextSlice() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+        if (++sliceIndex >= slices.size()) {
+            return false;
+        }
+        TrailSlice slice = slices.get(sliceIndex);
+        channel = FileChannel.open(slice.getPath(), StandardOpenOption.READ);
+        position = slice.getOffset();
+        end = slice.getOffset() + slice.getLength();
+        return true;
+    }
+}
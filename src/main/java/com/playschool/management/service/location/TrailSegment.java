@@ -0,0 +1,129 @@
+package com.playschool.management.service.location;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+
+/**
+ * One day of trail for one booking: a small header followed by fixed-width records.
+ *
+ * <pre>
+ * header  int magic, short version, short recordBytes, long recordCount   (16 bytes)
+ * record  long epochMillis (UTC), int latitude * 1e7, int longitude * 1e7 (16 bytes)
+ * </pre>
+ *
+ * All values are big-endian. The file is written through memory-mapped chunks and
+ * may be longer than the data it holds; only recordCount records are valid.
+ */
+final class TrailSegment implements Closeable {
+
+    static final int MAGIC = 0x4A52544C; // "JRTL"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int RECORD_BYTES = 16;
+    static final double COORDINATE_SCALE = 1e7;
+
+    private static final int COUNT_OFFSET = 8;
+    private static final int CHUNK_BYTES = RECORD_BYTES * 4096;
+
+    private final Path path;
+    private final LocalDate day;
+    private final FileChannel channel;
+    private final MappedByteBuffer header;
+    private MappedByteBuffer chunk;
+    private long chunkStart;
+    private long recordCount;
+    private volatile long lastAppendMillis;
+
+    private TrailSegment(Path path, LocalDate day, FileChannel channel, MappedByteBuffer header) throws IOException {
+        this.path = path;
+        this.day = day;
+        this.channel = channel;
+        this.header = header;
+        if (header.getInt(0) != MAGIC) {
+            header.putInt(0, MAGIC);
+            header.putShort(4, VERSION);
+            header.putShort(6, (short) RECORD_BYTES);
+            header.putLong(COUNT_OFFSET, 0L);
+        }
+        this.recordCount = header.getLong(COUNT_OFFSET);
+        mapChunkAt(HEADER_BYTES + recordCount * RECORD_BYTES);
+        this.lastAppendMillis = System.currentTimeMillis();
+    }
+
+    static TrailSegment open(Path path, LocalDate day) throws IOException {
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new TrailSegment(path, day, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_BYTES));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the number of valid records from a segment file opened for reading.
+     */
+    static long readRecordCount(FileChannel channel) throws IOException {
+        if (channel.size() < HEADER_BYTES) {
+            return 0L;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) {
+                return 0L;
+            }
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            return 0L;
+        }
+        long count = buffer.getLong(COUNT_OFFSET);
+        long available = (channel.size() - HEADER_BYTES) / RECORD_BYTES;
+        return Math.min(count, available);
+    }
+
+    synchronized void append(long epochMillis, double latitude, double longitude) throws IOException {
+        long offset = HEADER_BYTES + recordCount * RECORD_BYTES;
+        if (offset + RECORD_BYTES > chunkStart + chunk.capacity()) {
+            mapChunkAt(offset);
+        }
+        int position = (int) (offset - chunkStart);
+        chunk.putLong(position, epochMillis);
+        chunk.putInt(position + 8, (int) Math.round(latitude * COORDINATE_SCALE));
+        chunk.putInt(position + 12, (int) Math.round(longitude * COORDINATE_SCALE));
+        // Publish the record only after it is fully written
+        recordCount++;
+        header.putLong(COUNT_OFFSET, recordCount);
+        lastAppendMillis = System.currentTimeMillis();
+    }
+
+    LocalDate getDay() {
+        return day;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    long getLastAppendMillis() {
+        return lastAppendMillis;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        chunk.force();
+        header.force();
+        channel.close();
+    }
+
+    private void mapChunkAt(long offset) throws IOException {
+        chunkStart = offset;
+        chunk = channel.map(FileChannel.MapMode.READ_WRITE, offset, CHUNK_BYTES);
+    }
+}
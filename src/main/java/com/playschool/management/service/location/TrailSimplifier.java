@@ -0,0 +1,187 @@
+package com.playschool.management.service.location;
+
+/**
+ * Online line simplifier for one trail (opening-window Douglas-Peucker).
+ *
+ * Points are buffered after the last kept point (the anchor). When the segment from
+ * the anchor to a new point would pass further than the tolerance from any buffered
+ * point, the previous point is kept and becomes the new anchor. Straight runs and
+ * stationary jitter therefore collapse to their end points.
+ *
+ * Every offered point yields at most one kept point, read back through the
+ * {@code kept*} accessors. A point is also kept when the window fills up or when the
+ * anchor is older than {@code maxHoldMillis}, which bounds both the per-point cost
+ * and how long the stored trail lags behind. Points are expected in time order; a
+ * caller that receives an older point flushes and {@link #reset() resets} first. Not
+ * thread-safe; callers serialise access per trail.
+ */
+final class TrailSimplifier {
+
+    private static final double METERS_PER_DEGREE = GeoUtils.KM_PER_DEGREE_LATITUDE * 1000;
+
+    private final double tolerance;
+    private final double toleranceSquared;
+    private final int maxWindow;
+    private final long maxHoldMillis;
+
+    // Buffered points after the anchor, in metres relative to the anchor
+    private final long[] times;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private int size;
+
+    private boolean hasAnchor;
+    private long anchorMillis;
+    private double anchorLatitude;
+    private double anchorLongitude;
+    private double metersPerDegreeLongitude;
+
+    private long lastOfferedMillis = Long.MIN_VALUE;
+    private long keptMillis;
+    private double keptLatitude;
+    private double keptLongitude;
+
+    private long offered;
+    private long kept;
+
+    TrailSimplifier(double toleranceMeters, int maxWindow, long maxHoldMillis) {
+        this.tolerance = Math.max(0, toleranceMeters);
+        this.toleranceSquared = tolerance * tolerance;
+        this.maxWindow = Math.max(1, maxWindow);
+        this.maxHoldMillis = maxHoldMillis;
+        this.times = new long[this.maxWindow];
+        this.xs = new double[this.maxWindow];
+        this.ys = new double[this.maxWindow];
+        this.latitudes = new double[this.maxWindow];
+        this.longitudes = new double[this.maxWindow];
+    }
+
+    /**
+     * Feeds the next point of the trail.
+     *
+     * @return true if a point was kept; it is available from the {@code kept*} accessors
+     */
+    boolean offer(long epochMillis, double latitude, double longitude) {
+        offered++;
+        lastOfferedMillis = epochMillis;
+        if (!hasAnchor || tolerance == 0) {
+            return anchorAt(epochMillis, latitude, longitude);
+        }
+
+        double x = (longitude - anchorLongitude) * metersPerDegreeLongitude;
+        double y = (latitude - anchorLatitude) * METERS_PER_DEGREE;
+        if (size > 0 && !allWithinTolerance(x, y)) {
+            // The new point bends the line: keep the last buffered point and start over from it
+            int last = size - 1;
+            long lastMillis = times[last];
+            double lastLatitude = latitudes[last];
+            double lastLongitude = longitudes[last];
+            anchorAt(lastMillis, lastLatitude, lastLongitude);
+            buffer(epochMillis, latitude, longitude,
+                    (longitude - anchorLongitude) * metersPerDegreeLongitude, (latitude - anchorLatitude) * METERS_PER_DEGREE);
+            return true;
+        }
+
+        if (size + 1 >= maxWindow || epochMillis - anchorMillis >= maxHoldMillis) {
+            return anchorAt(epochMillis, latitude, longitude);
+        }
+        buffer(epochMillis, latitude, longitude, x, y);
+        return false;
+    }
+
+    /**
+     * Keeps the newest buffered point, if any; used when the trail goes idle.
+     *
+     * @return true if a point was kept
+     */
+    boolean flush() {
+        if (size == 0) {
+            return false;
+        }
+        int last = size - 1;
+        return anchorAt(times[last], latitudes[last], longitudes[last]);
+    }
+
+    /**
+     * Drops the anchor and any buffered points, so the next point starts a new line.
+     * Call {@link #flush()} first to keep the newest buffered point.
+     */
+    void reset() {
+        hasAnchor = false;
+        size = 0;
+        lastOfferedMillis = Long.MIN_VALUE;
+    }
+
+    /** Time of the newest point offered since the last reset, or Long.MIN_VALUE if none. */
+    long getLastOfferedMillis() {
+        return lastOfferedMillis;
+    }
+
+    long getKeptMillis() {
+        return keptMillis;
+    }
+
+    double getKeptLatitude() {
+        return keptLatitude;
+    }
+
+    double getKeptLongitude() {
+        return keptLongitude;
+    }
+
+    long getOfferedCount() {
+        return offered;
+    }
+
+    long getKeptCount() {
+        return kept;
+    }
+
+    private boolean allWithinTolerance(double endX, double endY) {
+        double lengthSquared = endX * endX + endY * endY;
+        for (int i = 0; i < size; i++) {
+            double px = xs[i];
+            double py = ys[i];
+            double dx;
+            double dy;
+            if (lengthSquared == 0) {
+                dx = px;
+                dy = py;
+            } else {
+                // Distance to the segment, not the infinite line, so back-tracking is kept
+                double t = Math.max(0, Math.min(1, (px * endX + py * endY) / lengthSquared));
+                dx = px - t * endX;
+                dy = py - t * endY;
+            }
+            if (dx * dx + dy * dy > toleranceSquared) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean anchorAt(long epochMillis, double latitude, double longitude) {
+        hasAnchor = true;
+        anchorMillis = epochMillis;
+        anchorLatitude = latitude;
+        anchorLongitude = longitude;
+        metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude));
+        size = 0;
+        keptMillis = epochMillis;
+        keptLatitude = latitude;
+        keptLongitude = longitude;
+        kept++;
+        return true;
+    }
+
+    private void buffer(long epochMillis, double latitude, double longitude, double x, double y) {
+        times[size] = epochMillis;
+        latitudes[size] = latitude;
+        longitudes[size] = longitude;
+        xs[size] = x;
+        ys[size] = y;
+        size++;
+    }
+}
@@ -0,0 +1,187 @@
+package com.playschool.management.service.location;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.playschool.management.dto.DriverLocation;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Replays recorded trails as Server-Sent Events on the original timeline, sped up by
+ * a factor.
+ *
+ * A replay holds a lazy {@link TrailReader} and one pending task on a shared
+ * scheduled executor: each run emits the fixes that are due and schedules itself for
+ * the next one, so a replay costs no thread while it waits and a long trip is never
+ * loaded into memory.
+ */
+@Component
+public class TripReplayService {
+
+    private static final Logger log = LoggerFactory.getLogger(TripReplayService.class);
+
+    // Fixes emitted per run before yielding the thread to other replays
+    private static final int MAX_FRAMES_PER_RUN = 64;
+
+    private final TripTrailRecorder tripTrailRecorder;
+    private final int maxConcurrentReplays;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicInteger activeReplays = new AtomicInteger();
+    private final LongAdder sentFrames = new LongAdder();
+
+    public TripReplayService(TripTrailRecorder tripTrailRecorder,
+            @Value("${location.replay.pool-size:2}") int poolSize,
+            @Value("${location.replay.max-concurrent:100}") int maxConcurrentReplays) {
+        this.tripTrailRecorder = tripTrailRecorder;
+        this.maxConcurrentReplays = maxConcurrentReplays;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(poolSize,
+                new CustomizableThreadFactory("trip-replay-"));
+        executor.setRemoveOnCancelPolicy(true);
+        this.scheduler = executor;
+    }
+
+    /**
+     * Starts replaying the booking's trail into a new emitter.
+     *
+     * @param driverId reported as the driver of every replayed fix, may be null
+     * @return the emitter, or null if nothing has been recorded for the booking
+     * @throws ReplayCapacityException if the maximum number of replays is already running
+     */
+    public SseEmitter startReplay(String bookingId, String driverId, double speed) throws IOException {
+        if (activeReplays.incrementAndGet() > maxConcurrentReplays) {
+            activeReplays.decrementAndGet();
+            throw new ReplayCapacityException(maxConcurrentReplays);
+        }
+        TrailReader reader;
+        try {
+            reader = tripTrailRecorder.openReader(bookingId);
+        } catch (IOException | RuntimeException e) {
+            activeReplays.decrementAndGet();
+            throw e;
+        }
+        if (reader == null) {
+            activeReplays.decrementAndGet();
+            return null;
+        }
+        // No async timeout: the replay ends when the trail does or the client goes away
+        SseEmitter emitter = new SseEmitter(0L);
+        Replay replay = new Replay(bookingId, driverId, speed, reader, emitter);
+        emitter.onCompletion(replay::finish);
+        emitter.onTimeout(replay::finish);
+        emitter.onError(error -> replay.finish());
+        scheduler.execute(replay::run);
+        return emitter;
+    }
+
+    public int getActiveReplays() {
+        return activeReplays.get();
+    }
+
+    public long getSentFrames() {
+        return sentFrames.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Thrown when a replay is requested while the maximum number is already running.
+     */
+    public static class ReplayCapacityException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public ReplayCapacityException(int maxConcurrentReplays) {
+            super("Too many trip replays running (limit " + maxConcurrentReplays + ")");
+        }
+    }
+
+    private final class Replay {
+
+        private final String bookingId;
+        private final String driverId;
+        private final double speed;
+        private final TrailReader reader;
+        private final SseEmitter emitter;
+
+        private long firstFixMillis = -1;
+        private long startNanos;
+        private long frameIndex;
+        private boolean pending; // reader holds a fix that has not been sent yet
+        private boolean finished;
+
+        Replay(String bookingId, String driverId, double speed, TrailReader reader, SseEmitter emitter) {
+            this.bookingId = bookingId;
+            this.driverId = driverId;
+            this.speed = speed;
+            this.reader = reader;
+            this.emitter = emitter;
+        }
+
+        // Runs on the scheduler; never concurrently for one replay since it only reschedules itself
+        synchronized void run() {
+            if (finished) {
+                return;
+            }
+            try {
+                for (int sent = 0; sent < MAX_FRAMES_PER_RUN; sent++) {
+                    if (!pending && !(pending = reader.advance())) {
+                        emitter.send(SseEmitter.event().name("end").data(frameIndex));
+                        emitter.complete();
+                        finish();
+                        return;
+                    }
+                    if (firstFixMillis < 0) {
+                        firstFixMillis = reader.getEpochMillis();
+                        startNanos = System.nanoTime();
+                    }
+                    long dueNanos = startNanos
+                            + (long) ((reader.getEpochMillis() - firstFixMillis) * 1_000_000L / speed);
+                    long waitNanos = dueNanos - System.nanoTime();
+                    if (waitNanos > 0) {
+                        scheduler.schedule(this::run, waitNanos, TimeUnit.NANOSECONDS);
+                        return;
+                    }
+                    DriverLocation location = new DriverLocation(driverId, reader.getLatitude(), reader.getLongitude());
+                    location.setTimestamp(DriverPositionStore.fromEpochMillis(reader.getEpochMillis()));
+                    emitter.send(SseEmitter.event().id(Long.toString(frameIndex++)).name("location").data(location));
+                    sentFrames.increment();
+                    pending = false;
+                }
+                scheduler.execute(this::run);
+            } catch (IOException | RuntimeException e) {
+                log.debug("Replay of booking {} stopped: {}", bookingId, e.getMessage());
+                emitter.completeWithError(e);
+                finish();
+            }
+        }
+
+        synchronized void finish() {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            activeReplays.decrementAndGet();
+            try {
+                reader.close();
+            } catch (IOException e) {
+                log.debug("Failed to close trail reader of booking {}: {}", bookingId, e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,298 @@
+package com.playschool.management.service.location;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only trail of every fix recorded against a booking.
+ *
+ * Trails live on local disk as one segment file per booking per UTC day
+ * ({@code <directory>/<bookingId>/<yyyy-MM-dd>.trail}, format described on
+ * {@link TrailSegment}). Segments are appended through memory-mapped buffers and
+ * served back by handing the file regions straight to the output channel.
+ *
+ * Fixes pass through a per-booking {@link TrailSimplifier} first, so only points
+ * needed to stay within {@code location.trail.tolerance-meters} of the real path are
+ * written. The newest point can therefore reach disk up to
+ * {@code location.trail.max-hold-ms} late, and is flushed when the trail goes idle.
+ *
+ * Fixes are stored in the order they arrive. A fix older than the previous one (an
+ * offline buffer uploaded after a live fix) ends the current run and starts a new one,
+ * so the simplifier never joins points across the jump back in time.
+ */
+@Component
+public class TripTrailRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(TripTrailRecorder.class);
+
+    private static final Pattern BOOKING_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String SEGMENT_SUFFIX = ".trail";
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    private final Path baseDirectory;
+    private final long idleCloseMillis;
+    private final double toleranceMeters;
+    private final int maxWindow;
+    private final long maxHoldMillis;
+    private final Map<String, TrailSegment> openSegments = new ConcurrentHashMap<>();
+    private final Map<String, TrailSimplifier> simplifiers = new ConcurrentHashMap<>();
+    private final LongAdder offeredPoints = new LongAdder();
+    private final LongAdder storedPoints = new LongAdder();
+
+    public TripTrailRecorder(
+            @Value("${location.trail.directory:${java.io.tmpdir}/jr-transport/trails}") String baseDirectory,
+            @Value("${location.trail.idle-close-ms:600000}") long idleCloseMillis,
+            @Value("${location.trail.tolerance-meters:10}") double toleranceMeters,
+            @Value("${location.trail.max-window:32}") int maxWindow,
+            @Value("${location.trail.max-hold-ms:30000}") long maxHoldMillis) {
+        this.baseDirectory = Paths.get(baseDirectory);
+        this.idleCloseMillis = idleCloseMillis;
+        this.toleranceMeters = toleranceMeters;
+        this.maxWindow = maxWindow;
+        this.maxHoldMillis = maxHoldMillis;
+    }
+
+    /**
+     * Offers a fix to the booking's trail; it is stored if the simplifier keeps it.
+     */
+    public void record(String bookingId, DriverLocation location) {
+        if (!isValidBookingId(bookingId)) {
+            return;
+        }
+        long epochMillis = DriverPositionStore.toEpochMillis(location.getTimestamp());
+        offeredPoints.increment();
+        while (true) {
+            TrailSimplifier simplifier = simplifiers.computeIfAbsent(bookingId,
+                    id -> new TrailSimplifier(toleranceMeters, maxWindow, maxHoldMillis));
+            synchronized (simplifier) {
+                if (simplifiers.get(bookingId) != simplifier) {
+                    // Flushed by the idle check meanwhile
+                    continue;
+                }
+                if (epochMillis < simplifier.getLastOfferedMillis()) {
+                    if (simplifier.flush()) {
+                        append(bookingId, simplifier);
+                    }
+                    simplifier.reset();
+                }
+                if (simplifier.offer(epochMillis, location.getLatitude(), location.getLongitude())) {
+                    append(bookingId, simplifier);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Returns the readable region of every segment of the booking's trail, oldest first.
+     * The list is empty if nothing has been recorded.
+     */
+    public List<TrailSlice> getTrailSlices(String bookingId) throws IOException {
+        if (!isValidBookingId(bookingId)) {
+            return Collections.emptyList();
+        }
+        Path bookingDirectory = baseDirectory.resolve(bookingId);
+        if (!Files.isDirectory(bookingDirectory)) {
+            return Collections.emptyList();
+        }
+        List<Path> segmentFiles = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(bookingDirectory, "*" + SEGMENT_SUFFIX)) {
+            files.forEach(segmentFiles::add);
+        }
+        // yyyy-MM-dd names sort chronologically
+        Collections.sort(segmentFiles);
+        List<TrailSlice> slices = new ArrayList<>(segmentFiles.size());
+        for (Path file : segmentFiles) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                long records = TrailSegment.readRecordCount(channel);
+                if (records > 0) {
+                    slices.add(new TrailSlice(file, TrailSegment.HEADER_BYTES, records * TrailSegment.RECORD_BYTES));
+                }
+            }
+        }
+        return slices;
+    }
+
+    /**
+     * Opens a lazy reader over the booking's trail, or returns null if nothing has been
+     * recorded. The caller must close the reader.
+     */
+    public TrailReader openReader(String bookingId) throws IOException {
+        List<TrailSlice> slices = getTrailSlices(bookingId);
+        return slices.isEmpty() ? null : new TrailReader(slices);
+    }
+
+    /**
+     * Copies the given trail regions to the target with FileChannel.transferTo. Only a
+     * file or socket channel target gets the kernel copy with no heap buffer; any other
+     * channel, such as one wrapping a servlet output stream, is fed through a small
+     * intermediate buffer, still without loading the whole trail.
+     *
+     * @return number of bytes written
+     */
+    public long transfer(List<TrailSlice> slices, WritableByteChannel target) throws IOException {
+        long written = 0;
+        for (TrailSlice slice : slices) {
+            try (FileChannel channel = FileChannel.open(slice.getPath(), StandardOpenOption.READ)) {
+                long position = slice.getOffset();
+                long remaining = slice.getLength();
+                while (remaining > 0) {
+                    long sent = channel.transferTo(position, remaining, target);
+                    if (sent <= 0) {
+                        break;
+                    }
+                    position += sent;
+                    remaining -= sent;
+                    written += sent;
+                }
+            }
+        }
+        return written;
+    }
+
+    public long getOfferedPoints() {
+        return offeredPoints.sum();
+    }
+
+    public long getStoredPoints() {
+        return storedPoints.sum();
+    }
+
+    @Scheduled(fixedDelayString = "${location.trail.idle-check-interval-ms:60000}")
+    public void closeIdleSegments() {
+        long cutoff = System.currentTimeMillis() - idleCloseMillis;
+        for (Map.Entry<String, TrailSimplifier> entry : simplifiers.entrySet()) {
+            TrailSegment segment = openSegments.get(entry.getKey());
+            if (segment == null || segment.getLastAppendMillis() < cutoff) {
+                flushSimplifier(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String bookingId : openSegments.keySet()) {
+            openSegments.computeIfPresent(bookingId, (id, segment) -> {
+                if (segment.getLastAppendMillis() < cutoff) {
+                    closeQuietly(segment);
+                    return null;
+                }
+                return segment;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        simplifiers.forEach(this::flushSimplifier);
+        for (String bookingId : openSegments.keySet()) {
+            closeQuietly(openSegments.remove(bookingId));
+        }
+    }
+
+    /**
+     * Writes the simplifier's pending point and forgets it; a later fix starts a fresh one.
+     */
+    private void flushSimplifier(String bookingId, TrailSimplifier simplifier) {
+        synchronized (simplifier) {
+            if (simplifier.flush()) {
+                append(bookingId, simplifier);
+            }
+            simplifiers.remove(bookingId, simplifier);
+        }
+    }
+
+    /**
+     * Appends the simplifier's kept point, rolling to a new segment when the UTC day changes.
+     */
+    private void append(String bookingId, TrailSimplifier simplifier) {
+        long epochMillis = simplifier.getKeptMillis();
+        LocalDate day = LocalDate.ofEpochDay(Math.floorDiv(epochMillis, MILLIS_PER_DAY));
+        try {
+            TrailSegment segment = openSegments.compute(bookingId, (id, current) -> {
+                if (current != null && current.getDay().equals(day)) {
+                    return current;
+                }
+                closeQuietly(current);
+                return openSegment(id, day);
+            });
+            segment.append(epochMillis, simplifier.getKeptLatitude(), simplifier.getKeptLongitude());
+            storedPoints.increment();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Failed to append trail point for booking {}: {}", bookingId, e.getMessage());
+        }
+    }
+
+    private TrailSegment openSegment(String bookingId, LocalDate day) {
+        try {
+            Path bookingDirectory = Files.createDirectories(baseDirectory.resolve(bookingId));
+            return TrailSegment.open(bookingDirectory.resolve(day + SEGMENT_SUFFIX), day);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void closeQuietly(TrailSegment segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.warn("Failed to close trail segment {}: {}", segment.getPath(), e.getMessage());
+        }
+    }
+
+    private boolean isValidBookingId(String bookingId) {
+        return bookingId != null && BOOKING_ID.matcher(bookingId).matches();
+    }
+
+    /**
+     * Readable byte range of one trail segment file.
+     */
+    public static final class TrailSlice {
+
+        private final Path path;
+        private final long offset;
+        private final long length;
+
+        TrailSlice(Path path, long offset, long length) {
+            this.path = path;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public Path getPath() {
+            return path;
+        }
+
+        public long getOffset() {
+            return offset;
+        }
+
+        public long getLength() {
+            return length;
+        }
+    }
+}
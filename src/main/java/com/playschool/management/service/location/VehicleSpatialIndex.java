@@ -0,0 +1,372 @@
+package com.playschool.management.service.location;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.dto.response.NearbyVehicleDto;
+import com.playschool.management.entity.Vehicle;
+import com.playschool.management.repository.AssignmentHistoryRepository;
+import com.playschool.management.repository.VehicleRepository;
+
+/**
+ * In-memory grid index of vehicle positions for "nearest available vehicle" lookups.
+ *
+ * The world is cut into square cells of {@code vehicle.index.cell-degrees}; each cell
+ * holds the ids of the searchable (AVAILABLE, active, located) vehicles inside it.
+ * A query scans rings of cells outwards from the query point and stops as soon as no
+ * unscanned cell can hold anything closer than the current k-th result.
+ *
+ * Positions follow the live fixes of each vehicle's assigned driver; status, type and
+ * assignments are pushed by VehicleService and DriverService when they change, and
+ * everything is reconciled with the database periodically.
+ */
+@Component
+public class VehicleSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(VehicleSpatialIndex.class);
+
+    private final VehicleRepository vehicleRepository;
+    private final AssignmentHistoryRepository assignmentHistoryRepository;
+    private final double cellDegrees;
+    private final int latitudeCells;
+    private final int longitudeCells;
+
+    private final Map<String, IndexedVehicle> vehicles = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> cells = new ConcurrentHashMap<>();
+    private volatile Map<String, List<String>> vehiclesByDriver = Collections.emptyMap();
+    private volatile Map<String, String> driverByVehicle = Collections.emptyMap();
+
+    public VehicleSpatialIndex(VehicleRepository vehicleRepository,
+            AssignmentHistoryRepository assignmentHistoryRepository,
+            @Value("${vehicle.index.cell-degrees:0.05}") double cellDegrees) {
+        this.vehicleRepository = vehicleRepository;
+        this.assignmentHistoryRepository = assignmentHistoryRepository;
+        this.cellDegrees = cellDegrees;
+        this.latitudeCells = (int) Math.ceil(180 / cellDegrees);
+        this.longitudeCells = (int) Math.ceil(360 / cellDegrees);
+    }
+
+    /**
+     * Reloads vehicle metadata and driver assignments. Positions already received from
+     * the live stream are kept when they are newer than the stored ones.
+     */
+    @Scheduled(fixedDelayString = "${vehicle.index.refresh-interval-ms:60000}")
+    public void refresh() {
+        try {
+            Map<String, List<String>> byDriver = new HashMap<>();
+            Map<String, String> byVehicle = new HashMap<>();
+            for (Object[] row : assignmentHistoryRepository.findActiveDriverVehicleIds()) {
+                String driverId = (String) row[0];
+                String vehicleId = (String) row[1];
+                byDriver.computeIfAbsent(driverId, key -> new ArrayList<>(1)).add(vehicleId);
+                byVehicle.put(vehicleId, driverId);
+            }
+
+            Set<String> loadedIds = new HashSet<>();
+            for (Object[] row : vehicleRepository.findSpatialIndexRows()) {
+                IndexedVehicle loaded = new IndexedVehicle((String) row[0], (String) row[1],
+                        (Vehicle.VehicleType) row[2], (Vehicle.VehicleStatus) row[3], !Boolean.FALSE.equals(row[4]),
+                        (Double) row[5], (Double) row[6], (LocalDateTime) row[7]);
+                loadedIds.add(loaded.id);
+                put(loaded);
+            }
+            for (String vehicleId : vehicles.keySet()) {
+                if (!loadedIds.contains(vehicleId)) {
+                    remove(vehicleId);
+                }
+            }
+
+            synchronized (this) {
+                vehiclesByDriver = byDriver;
+                driverByVehicle = byVehicle;
+            }
+            log.debug("Spatial index holds {} vehicles in {} cells", vehicles.size(), cells.size());
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh vehicle spatial index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Moves the vehicles assigned to the fix's driver.
+     */
+    public void onDriverLocation(DriverLocation location) {
+        List<String> vehicleIds = vehiclesByDriver.get(location.getDriverId());
+        if (vehicleIds == null) {
+            return;
+        }
+        long epochMillis = DriverPositionStore.toEpochMillis(location.getTimestamp());
+        for (String vehicleId : vehicleIds) {
+            vehicles.computeIfPresent(vehicleId, (id, current) -> {
+                if (current.hasPosition() && current.locationMillis > epochMillis) {
+                    return current;
+                }
+                return relocate(current, current.withPosition(location.getLatitude(), location.getLongitude(), epochMillis));
+            });
+        }
+    }
+
+    /**
+     * Applies a saved vehicle (status, type, active flag or stored position change).
+     */
+    public void update(Vehicle vehicle) {
+        if (vehicle == null || vehicle.getId() == null) {
+            return;
+        }
+        put(new IndexedVehicle(vehicle.getId(), vehicle.getVehicleNumber(), vehicle.getVehicleType(),
+                vehicle.getStatus(), !Boolean.FALSE.equals(vehicle.getIsActive()),
+                vehicle.getCurrentLatitude(), vehicle.getCurrentLongitude(), vehicle.getLastLocationUpdate()));
+    }
+
+    /**
+     * Records a new driver assignment so the vehicle follows the driver's fixes right away.
+     */
+    public synchronized void assign(String driverId, String vehicleId) {
+        Map<String, List<String>> byDriver = new HashMap<>(vehiclesByDriver);
+        List<String> vehicleIds = new ArrayList<>(byDriver.getOrDefault(driverId, Collections.emptyList()));
+        if (!vehicleIds.contains(vehicleId)) {
+            vehicleIds.add(vehicleId);
+        }
+        byDriver.put(driverId, vehicleIds);
+        Map<String, String> byVehicle = new HashMap<>(driverByVehicle);
+        byVehicle.put(vehicleId, driverId);
+        vehiclesByDriver = byDriver;
+        driverByVehicle = byVehicle;
+    }
+
+    public synchronized void unassign(String driverId, String vehicleId) {
+        Map<String, List<String>> byDriver = new HashMap<>(vehiclesByDriver);
+        List<String> vehicleIds = new ArrayList<>(byDriver.getOrDefault(driverId, Collections.emptyList()));
+        vehicleIds.remove(vehicleId);
+        if (vehicleIds.isEmpty()) {
+            byDriver.remove(driverId);
+        } else {
+            byDriver.put(driverId, vehicleIds);
+        }
+        Map<String, String> byVehicle = new HashMap<>(driverByVehicle);
+        byVehicle.remove(vehicleId, driverId);
+        vehiclesByDriver = byDriver;
+        driverByVehicle = byVehicle;
+    }
+
+    public void remove(String vehicleId) {
+        vehicles.computeIfPresent(vehicleId, (id, current) -> {
+            relocate(current, null);
+            return null;
+        });
+    }
+
+    /**
+     * Nearest searchable vehicles within {@code radiusKm} of the point, closest first.
+     *
+     * @param type optional vehicle type filter, null for any
+     */
+    public List<NearbyVehicleDto> findNearest(double latitude, double longitude, double radiusKm,
+            Vehicle.VehicleType type, int limit) {
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(limit + 1,
+                Comparator.comparingDouble((Candidate candidate) -> candidate.distanceKm).reversed());
+
+        // Narrowest cell (east-west at the highest latitude in range) bounds how far each ring reaches
+        double maxLatitude = Math.min(89.0, Math.abs(latitude) + radiusKm / GeoUtils.KM_PER_DEGREE_LATITUDE);
+        double minCellKm = cellDegrees * GeoUtils.KM_PER_DEGREE_LATITUDE * Math.cos(Math.toRadians(maxLatitude));
+        int maxRing = (int) Math.min(Math.ceil(radiusKm / minCellKm) + 1, (longitudeCells - 1) / 2);
+
+        int centerRow = row(latitude);
+        int centerColumn = column(longitude);
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Anything in this ring is at least (ring - 1) whole cells away from the query point
+            double ringMinKm = Math.max(0, ring - 1) * minCellKm;
+            if (ringMinKm > radiusKm || (nearest.size() == limit && ringMinKm >= nearest.peek().distanceKm)) {
+                break;
+            }
+            for (int dy = -ring; dy <= ring; dy++) {
+                int cellRow = centerRow + dy;
+                if (cellRow < 0 || cellRow >= latitudeCells) {
+                    continue;
+                }
+                if (Math.abs(dy) == ring) {
+                    for (int dx = -ring; dx <= ring; dx++) {
+                        scanCell(cellRow, centerColumn + dx, latitude, longitude, radiusKm, type, limit, nearest);
+                    }
+                } else {
+                    scanCell(cellRow, centerColumn - ring, latitude, longitude, radiusKm, type, limit, nearest);
+                    scanCell(cellRow, centerColumn + ring, latitude, longitude, radiusKm, type, limit, nearest);
+                }
+            }
+        }
+
+        List<Candidate> ordered = new ArrayList<>(nearest);
+        ordered.sort(Comparator.comparingDouble(candidate -> candidate.distanceKm));
+        Map<String, String> drivers = driverByVehicle;
+        List<NearbyVehicleDto> result = new ArrayList<>(ordered.size());
+        for (Candidate candidate : ordered) {
+            IndexedVehicle vehicle = candidate.vehicle;
+            result.add(new NearbyVehicleDto(vehicle.id, vehicle.vehicleNumber, vehicle.type, drivers.get(vehicle.id),
+                    vehicle.latitude, vehicle.longitude, candidate.distanceKm,
+                    vehicle.locationMillis > 0 ? DriverPositionStore.fromEpochMillis(vehicle.locationMillis) : null));
+        }
+        return result;
+    }
+
+    public int size() {
+        return vehicles.size();
+    }
+
+    private void scanCell(int cellRow, int cellColumn, double latitude, double longitude, double radiusKm,
+            Vehicle.VehicleType type, int limit, PriorityQueue<Candidate> nearest) {
+        long key = cellKey(cellRow, Math.floorMod(cellColumn, longitudeCells));
+        Set<String> ids = cells.get(key);
+        if (ids == null) {
+            return;
+        }
+        for (String id : ids) {
+            IndexedVehicle vehicle = vehicles.get(id);
+            // Skip entries caught mid-move between cells
+            if (vehicle == null || vehicle.cellKey != key || !vehicle.isSearchable()
+                    || (type != null && vehicle.type != type)) {
+                continue;
+            }
+            double distanceKm = GeoUtils.distanceKm(latitude, longitude, vehicle.latitude, vehicle.longitude);
+            if (distanceKm > radiusKm) {
+                continue;
+            }
+            if (nearest.size() < limit) {
+                nearest.add(new Candidate(vehicle, distanceKm));
+            } else if (distanceKm < nearest.peek().distanceKm) {
+                nearest.poll();
+                nearest.add(new Candidate(vehicle, distanceKm));
+            }
+        }
+    }
+
+    private void put(IndexedVehicle loaded) {
+        vehicles.compute(loaded.id, (id, current) -> {
+            IndexedVehicle next = loaded;
+            if (current != null && current.hasPosition()
+                    && (!loaded.hasPosition() || current.locationMillis > loaded.locationMillis)) {
+                next = loaded.withPosition(current.latitude, current.longitude, current.locationMillis);
+            }
+            return relocate(current, next);
+        });
+    }
+
+    /**
+     * Moves the vehicle's id between cell sets; must run inside a compute on {@link #vehicles}.
+     */
+    private IndexedVehicle relocate(IndexedVehicle previous, IndexedVehicle next) {
+        long previousKey = previous != null && previous.isSearchable() ? previous.cellKey : -1L;
+        long nextKey = -1L;
+        if (next != null && next.isSearchable()) {
+            nextKey = cellKey(row(next.latitude), column(next.longitude));
+            next = next.inCell(nextKey);
+        }
+        if (previousKey != nextKey) {
+            if (previousKey != -1L) {
+                String id = previous.id;
+                cells.computeIfPresent(previousKey, (key, ids) -> {
+                    ids.remove(id);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+            if (nextKey != -1L) {
+                String id = next.id;
+                cells.compute(nextKey, (key, ids) -> {
+                    Set<String> cellIds = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    cellIds.add(id);
+                    return cellIds;
+                });
+            }
+        }
+        return next;
+    }
+
+    private int row(double latitude) {
+        return Math.min(latitudeCells - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), longitudeCells);
+    }
+
+    private static long cellKey(int row, int column) {
+        return ((long) row << 32) | (column & 0xFFFFFFFFL);
+    }
+
+    private static final class IndexedVehicle {
+
+        final String id;
+        final String vehicleNumber;
+        final Vehicle.VehicleType type;
+        final Vehicle.VehicleStatus status;
+        final boolean active;
+        final double latitude;
+        final double longitude;
+        final long locationMillis;
+        final long cellKey;
+
+        IndexedVehicle(String id, String vehicleNumber, Vehicle.VehicleType type, Vehicle.VehicleStatus status,
+                boolean active, Double latitude, Double longitude, LocalDateTime lastLocationUpdate) {
+            this(id, vehicleNumber, type, status, active,
+                    latitude != null && longitude != null ? latitude : Double.NaN,
+                    latitude != null && longitude != null ? longitude : Double.NaN,
+                    lastLocationUpdate != null ? DriverPositionStore.toEpochMillis(lastLocationUpdate) : 0L, -1L);
+        }
+
+        private IndexedVehicle(String id, String vehicleNumber, Vehicle.VehicleType type,
+                Vehicle.VehicleStatus status, boolean active, double latitude, double longitude,
+                long locationMillis, long cellKey) {
+            this.id = id;
+            this.vehicleNumber = vehicleNumber;
+            this.type = type;
+            this.status = status;
+            this.active = active;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.locationMillis = locationMillis;
+            this.cellKey = cellKey;
+        }
+
+        IndexedVehicle withPosition(double latitude, double longitude, long locationMillis) {
+            return new IndexedVehicle(id, vehicleNumber, type, status, active, latitude, longitude, locationMillis, cellKey);
+        }
+
+        IndexedVehicle inCell(long cellKey) {
+            return cellKey == this.cellKey ? this
+                    : new IndexedVehicle(id, vehicleNumber, type, status, active, latitude, longitude, locationMillis, cellKey);
+        }
+
+        boolean hasPosition() {
+            return !Double.isNaN(latitude) && GeoUtils.isValidCoordinate(latitude, longitude);
+        }
+
+        boolean isSearchable() {
+            return active && status == Vehicle.VehicleStatus.AVAILABLE && hasPosition();
+        }
+    }
+
+    private static final class Candidate {
+
+        final IndexedVehicle vehicle;
+        final double distanceKm;
+
+        Candidate(IndexedVehicle vehicle, double distanceKm) {
+            this.vehicle = vehicle;
+            this.distanceKm = distanceKm;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.playschool.management.service.onboarding;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.request.SignupRequest;
+import com.playschool.management.dto.response.BulkOnboardingReport;
+import com.playschool.management.dto.response.BulkOnboardingReport.RowResult;
+import com.playschool.management.dto.response.BulkOnboardingReport.Status;
+import com.playschool.management.entity.Role;
+import com.playschool.management.entity.RoleName;
+import com.playschool.management.repository.UserOnboardingJdbcRepository;
+import com.playschool.management.repository.UserOnboardingJdbcRepository.NewUser;
+import com.playschool.management.security.crypto.BoundedPasswordEncoder;
+import com.playschool.management.service.RoleRegistry;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports many signups from one streamed upload.
+ *
+ * Rows are read and validated one at a time and written in chunks: one existence
+ * query, one parallel hashing pass and one batched insert per table per chunk, each
+ * chunk in its own transaction. If a chunk fails (typically a unique key that was taken
+ * concurrently, or on the customers or vehicle_owners tables) its rows are retried one
+ * by one so only the offending rows are reported as failed.
+ */
+@Service
+public class BulkOnboardingService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOnboardingService.class);
+
+    private final UserOnboardingJdbcRepository onboardingRepository;
+    private final RoleRegistry roleRegistry;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public BulkOnboardingService(UserOnboardingJdbcRepository onboardingRepository, RoleRegistry roleRegistry,
+            BoundedPasswordEncoder passwordEncoder, Validator validator, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${onboarding.bulk.chunk-size:200}") int chunkSize,
+            @Value("${onboarding.bulk.max-rows:10000}") int maxRows) {
+        this.onboardingRepository = onboardingRepository;
+        this.roleRegistry = roleRegistry;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Imports every row of the upload.
+     *
+     * @throws IOException if the upload cannot be read or has no valid CSV header
+     */
+    public BulkOnboardingReport importUsers(InputStream input, BulkUserReader.Format format) throws IOException {
+        BulkUserReader reader = new BulkUserReader(input, format, objectMapper);
+        BulkOnboardingReport report = new BulkOnboardingReport();
+        Set<String> seenUsernames = new HashSet<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int rows = 0;
+
+        BulkUserReader.Row row;
+        while ((row = reader.next()) != null) {
+            if (++rows > maxRows) {
+                report.setTruncated(true);
+                break;
+            }
+            SignupRequest request = row.getRequest();
+            String username = request != null ? request.getUsername() : null;
+            if (row.getError() != null) {
+                report.add(new RowResult(row.getLine(), username, Status.INVALID, null, row.getError()));
+                continue;
+            }
+            String problem = validate(request);
+            Set<Role> roles = null;
+            if (problem == null) {
+                roles = resolveRoles(request.getRole());
+                if (roles == null) {
+                    problem = "Unknown role in " + request.getRole();
+                }
+            }
+            if (problem != null) {
+                report.add(new RowResult(row.getLine(), username, Status.INVALID, null, problem));
+                continue;
+            }
+            if (!seenUsernames.add(username)) {
+                report.add(new RowResult(row.getLine(), username, Status.DUPLICATE, null, "Username repeated in this upload"));
+                continue;
+            }
+            if (!seenEmails.add(request.getEmail())) {
+                report.add(new RowResult(row.getLine(), username, Status.DUPLICATE, null, "Email repeated in this upload"));
+                continue;
+            }
+
+            chunk.add(new PendingRow(row.getLine(), request, roles));
+            if (chunk.size() >= chunkSize) {
+                writeChunk(chunk, report);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeChunk(chunk, report);
+        }
+        // Rows were reported per chunk; restore input order
+        report.getRows().sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+        log.info("Bulk onboarding: {} rows, {} created, {} duplicates, {} invalid, {} failed", report.getReceived(),
+                report.getCreated(), report.getDuplicates(), report.getInvalid(), report.getFailed());
+        return report;
+    }
+
+    private void writeChunk(List<PendingRow> chunk, BulkOnboardingReport report) {
+        Set<String> taken = onboardingRepository.findTakenUsernamesAndEmails(
+                chunk.stream().map(p -> p.request.getUsername()).toList(),
+                chunk.stream().map(p -> p.request.getEmail()).toList());
+        List<PendingRow> fresh = new ArrayList<>(chunk.size());
+        for (PendingRow pending : chunk) {
+            if (taken.contains(pending.request.getUsername())) {
+                report.add(new RowResult(pending.line, pending.request.getUsername(), Status.DUPLICATE, null,
+                        "Username is already taken"));
+            } else if (taken.contains(pending.request.getEmail())) {
+                report.add(new RowResult(pending.line, pending.request.getUsername(), Status.DUPLICATE, null,
+                        "Email is already in use"));
+            } else {
+                fresh.add(pending);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes = passwordEncoder.encodeAll(fresh.stream().map(p -> p.request.getPassword()).toList());
+        List<NewUser> users = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            users.add(toNewUser(fresh.get(i), hashes.get(i)));
+        }
+
+        insert(fresh, users, report);
+    }
+
+    private void insert(List<PendingRow> rows, List<NewUser> users, BulkOnboardingReport report) {
+        try {
+            Map<String, Long> ids = transactionTemplate.execute(status -> onboardingRepository.insertUsers(users));
+            for (PendingRow pending : rows) {
+                String username = pending.request.getUsername();
+                report.add(new RowResult(pending.line, username, Status.CREATED, ids.get(username), null));
+            }
+        } catch (DataAccessException e) {
+            if (rows.size() == 1) {
+                PendingRow pending = rows.get(0);
+                log.debug("Bulk onboarding row {} failed: {}", pending.line, e.getMessage());
+                report.add(new RowResult(pending.line, pending.request.getUsername(), Status.FAILED, null,
+                        firstLine(e.getMostSpecificCause().getMessage())));
+                return;
+            }
+            log.warn("Bulk onboarding chunk of {} rows failed, retrying row by row: {}", rows.size(),
+                    firstLine(e.getMostSpecificCause().getMessage()));
+            for (int i = 0; i < rows.size(); i++) {
+                insert(List.of(rows.get(i)), List.of(users.get(i)), report);
+            }
+        }
+    }
+
+    private String validate(SignupRequest request) {
+        Set<ConstraintViolation<SignupRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // Same default as /signup: no role means customer
+    private Set<Role> resolveRoles(Set<String> names) {
+        Set<Role> roles = new LinkedHashSet<>();
+        if (names == null || names.isEmpty()) {
+            roles.add(roleRegistry.get(RoleName.ROLE_CUSTOMER));
+        } else {
+            for (String name : names) {
+                Role role = roleRegistry.resolve(name);
+                if (role == null) {
+                    return null;
+                }
+                roles.add(role);
+            }
+        }
+        return roles.contains(null) ? null : roles;
+    }
+
+    // Driver messages go on to quote the statement
+    private static String firstLine(String message) {
+        if (message == null) {
+            return "Insert failed";
+        }
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end);
+    }
+
+    private static NewUser toNewUser(PendingRow pending, String passwordHash) {
+        SignupRequest request = pending.request;
+        return new NewUser(request.getUsername(), request.getEmail(), passwordHash, request.getFirstName(),
+                request.getLastName(), request.getPhoneNumber(), request.getVehicleNumber(), pending.roles);
+    }
+
+    private static final class PendingRow {
+
+        private final int line;
+        private final SignupRequest request;
+        private final Set<Role> roles;
+
+        PendingRow(int line, SignupRequest request, Set<Role> roles) {
+            this.line = line;
+            this.request = request;
+            this.roles = roles;
+        }
+    }
+}
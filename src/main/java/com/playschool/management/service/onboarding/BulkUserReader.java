@@ -0,0 +1,184 @@
+package com.playschool.management.service.onboarding;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.dto.request.SignupRequest;
+
+/**
+ * Reads signup rows one line at a time from a CSV (with a header row) or NDJSON
+ * upload, so an import never holds the whole file.
+ *
+ * CSV columns are matched to {@link SignupRequest} properties by header name, case
+ * insensitively; {@code role} may hold several roles separated by {@code |} or
+ * {@code ;}. Fields may be double-quoted but must not span lines.
+ */
+public class BulkUserReader {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private int lineNumber;
+
+    public BulkUserReader(InputStream input, Format format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Reads the next non-blank line.
+     *
+     * @return the row, or null at the end of the input
+     * @throws IOException if the upload cannot be read, or the CSV header is missing
+     */
+    public Row next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+            lineNumber++;
+        } while (line.isBlank());
+
+        if (format == Format.NDJSON) {
+            try {
+                SignupRequest request = objectMapper.readValue(line, SignupRequest.class);
+                // A bare null literal parses without error
+                if (request == null) {
+                    return new Row(lineNumber, null, "Expected a JSON object");
+                }
+                return new Row(lineNumber, request, null);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, null, "Malformed JSON: " + e.getOriginalMessage());
+            }
+        }
+        if (header == null) {
+            List<String> columns = splitCsv(line);
+            if (columns == null) {
+                throw new IOException("Unterminated quoted field in CSV header");
+            }
+            header = new ArrayList<>();
+            for (String column : columns) {
+                header.add(column.trim().toLowerCase(Locale.ROOT));
+            }
+            if (!header.contains("username")) {
+                throw new IOException("CSV header row with a username column is required");
+            }
+            return next();
+        }
+        return parseCsvRow(line);
+    }
+
+    private Row parseCsvRow(String line) {
+        List<String> values = splitCsv(line);
+        if (values == null) {
+            return new Row(lineNumber, null, "Unterminated quoted field");
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i).trim();
+            if (!value.isEmpty()) {
+                fields.put(header.get(i), value);
+            }
+        }
+
+        SignupRequest request = new SignupRequest();
+        request.setUsername(fields.get("username"));
+        request.setEmail(fields.get("email"));
+        request.setPassword(fields.get("password"));
+        request.setFirstName(fields.get("firstname"));
+        request.setLastName(fields.get("lastname"));
+        request.setPhoneNumber(fields.get("phonenumber"));
+        request.setVehicleNumber(fields.get("vehiclenumber"));
+        String roles = fields.get("role");
+        if (roles != null) {
+            Set<String> roleSet = new LinkedHashSet<>();
+            for (String role : roles.split("[|;]")) {
+                if (!role.isBlank()) {
+                    roleSet.add(role.trim());
+                }
+            }
+            request.setRole(roleSet);
+        }
+        return new Row(lineNumber, request, null);
+    }
+
+    // RFC 4180 fields on a single line; null if a quote is left open
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(field.toString());
+        return values;
+    }
+
+    /**
+     * One input line: either a parsed request or the reason it could not be parsed.
+     */
+    public static final class Row {
+
+        private final int line;
+        private final SignupRequest request;
+        private final String error;
+
+        Row(int line, SignupRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public SignupRequest getRequest() {
+            return request;
+        }
+
+        public String getError() {
+            return error;
+        }
+    }
+}
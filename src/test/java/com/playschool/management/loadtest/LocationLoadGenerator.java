@@ -0,0 +1,320 @@
+package com.playschool.management.loadtest;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * Drives the live location pipeline end to end: N simulated drivers POST fixes to
+ * /api/location/update along generated street routes while M STOMP subscribers, each
+ * watching every driver's /topic/location/{driverId}, time how long each fix takes to
+ * come back out of the broker.
+ *
+ * Only the JDK HTTP client and Spring's STOMP client are used, so it runs offline
+ * against any instance, normally one started on the H2 test profile.
+ */
+class LocationLoadGenerator {
+
+    private static final double CENTER_LATITUDE = 12.9716;
+    private static final double CENTER_LONGITUDE = 77.5946;
+    private static final double METERS_PER_DEGREE = 111_320;
+
+    private final String baseUrl;
+    private final int drivers;
+    private final int subscribers;
+    private final long fixIntervalMillis;
+    private final Duration warmup;
+    private final Duration duration;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    // driverId + fix millis -> System.nanoTime() when the fix was posted
+    private final Map<String, Long> postedAt = new ConcurrentHashMap<>();
+    private final LatencyRecorder postLatencies = new LatencyRecorder();
+    private final LatencyRecorder deliveryLatencies = new LatencyRecorder();
+    private final LongAdder acceptedPosts = new LongAdder();
+    private final LongAdder failedPosts = new LongAdder();
+    private final LongAdder deliveredFrames = new LongAdder();
+    private volatile boolean measuring;
+
+    LocationLoadGenerator(String baseUrl, int drivers, int subscribers, long fixIntervalMillis,
+            Duration warmup, Duration duration) {
+        this.baseUrl = baseUrl;
+        this.drivers = drivers;
+        this.subscribers = subscribers;
+        this.fixIntervalMillis = fixIntervalMillis;
+        this.warmup = warmup;
+        this.duration = duration;
+    }
+
+    LoadReport run() throws Exception {
+        List<StompSession> sessions = connectSubscribers();
+        ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+        try {
+            Random random = new Random(7);
+            for (int i = 0; i < drivers; i++) {
+                SimulatedDriver driver = new SimulatedDriver("load-driver-" + i, random.nextLong());
+                // Spread the drivers over the interval like real, unsynchronized phones
+                scheduler.scheduleAtFixedRate(() -> post(driver), random.nextInt((int) fixIntervalMillis),
+                        fixIntervalMillis, TimeUnit.MILLISECONDS);
+            }
+            Thread.sleep(warmup.toMillis());
+            postLatencies.clear();
+            deliveryLatencies.clear();
+            acceptedPosts.reset();
+            failedPosts.reset();
+            deliveredFrames.reset();
+            measuring = true;
+            long started = System.nanoTime();
+            Thread.sleep(duration.toMillis());
+            measuring = false;
+            double seconds = (System.nanoTime() - started) / 1e9;
+            scheduler.shutdownNow();
+
+            return new LoadReport(drivers, subscribers, seconds, acceptedPosts.sum(), failedPosts.sum(),
+                    deliveredFrames.sum(), postLatencies.sorted(), deliveryLatencies.sorted());
+        } finally {
+            scheduler.shutdownNow();
+            sessions.forEach(StompSession::disconnect);
+        }
+    }
+
+    private List<StompSession> connectSubscribers() throws Exception {
+        WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        stompClient.setMessageConverter(converter);
+        stompClient.setInboundMessageSizeLimit(1024 * 1024);
+
+        String url = baseUrl.replaceFirst("^http", "ws") + "/ws";
+        List<StompSession> sessions = new ArrayList<>(subscribers);
+        for (int s = 0; s < subscribers; s++) {
+            StompSession session = stompClient.connectAsync(url, new WebSocketHttpHeaders(), new StompSessionHandlerAdapter() { })
+                    .get(10, TimeUnit.SECONDS);
+            for (int i = 0; i < drivers; i++) {
+                session.subscribe("/topic/location/load-driver-" + i, new DeliveryHandler());
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    private void post(SimulatedDriver driver) {
+        DriverLocation fix = driver.next(fixIntervalMillis);
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(fix);
+        } catch (Exception e) {
+            failedPosts.increment();
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/location/update"))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        long sentNanos = System.nanoTime();
+        postedAt.put(key(fix), sentNanos);
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (!measuring) {
+                return;
+            }
+            if (error == null && response.statusCode() / 100 == 2) {
+                acceptedPosts.increment();
+                postLatencies.add(System.nanoTime() - sentNanos);
+            } else {
+                failedPosts.increment();
+            }
+        });
+    }
+
+    private static String key(DriverLocation fix) {
+        LocalDateTime timestamp = fix.getTimestamp();
+        return fix.getDriverId() + '@' + timestamp.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private final class DeliveryHandler implements StompFrameHandler {
+
+        @Override
+        public Type getPayloadType(StompHeaders headers) {
+            return DriverLocation.class;
+        }
+
+        @Override
+        public void handleFrame(StompHeaders headers, Object payload) {
+            long receivedNanos = System.nanoTime();
+            Long sentNanos = postedAt.get(key((DriverLocation) payload));
+            if (sentNanos != null && measuring) {
+                deliveredFrames.increment();
+                deliveryLatencies.add(receivedNanos - sentNanos);
+            }
+        }
+    }
+
+    /**
+     * A vehicle on a Manhattan-like street grid: long straight runs, turns at
+     * intersections, stops at signals, and a few metres of GPS noise on every fix.
+     */
+    private static final class SimulatedDriver {
+
+        private final String driverId;
+        private final Random random;
+        private double northMeters;
+        private double eastMeters;
+        private double headingRadians;
+        private double speedMps;
+        private long stoppedUntilMillis;
+        private long clockMillis = System.currentTimeMillis();
+
+        SimulatedDriver(String driverId, long seed) {
+            this.driverId = driverId;
+            this.random = new Random(seed);
+            this.northMeters = (random.nextDouble() - 0.5) * 20_000;
+            this.eastMeters = (random.nextDouble() - 0.5) * 20_000;
+            this.headingRadians = random.nextInt(4) * Math.PI / 2;
+            this.speedMps = 8 + random.nextDouble() * 6;
+        }
+
+        synchronized DriverLocation next(long elapsedMillis) {
+            // Fix times strictly increase per driver, so every fix is accepted and identifiable
+            clockMillis = Math.max(clockMillis + 1, System.currentTimeMillis());
+            if (clockMillis >= stoppedUntilMillis) {
+                double step = speedMps * elapsedMillis / 1000.0;
+                northMeters += Math.cos(headingRadians) * step;
+                eastMeters += Math.sin(headingRadians) * step;
+                double roll = random.nextDouble();
+                if (roll < 0.03) {
+                    headingRadians += (random.nextBoolean() ? 1 : -1) * Math.PI / 2;
+                } else if (roll < 0.05) {
+                    stoppedUntilMillis = clockMillis + 10_000 + random.nextInt(50_000);
+                }
+                speedMps = Math.max(3, Math.min(17, speedMps + random.nextGaussian()));
+            }
+            double latitude = CENTER_LATITUDE + (northMeters + random.nextGaussian() * 3) / METERS_PER_DEGREE;
+            double longitude = CENTER_LONGITUDE + (eastMeters + random.nextGaussian() * 3)
+                    / (METERS_PER_DEGREE * Math.cos(Math.toRadians(CENTER_LATITUDE)));
+            DriverLocation fix = new DriverLocation(driverId, latitude, longitude);
+            fix.setTimestamp(LocalDateTime.ofEpochSecond(clockMillis / 1000, (int) (clockMillis % 1000) * 1_000_000, ZoneOffset.UTC));
+            return fix;
+        }
+    }
+
+    private static final class LatencyRecorder {
+
+        private long[] samples = new long[1024];
+        private int size;
+
+        synchronized void add(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized void clear() {
+            size = 0;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(samples, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+
+    static final class LoadReport {
+
+        private final int drivers;
+        private final int subscribers;
+        private final double seconds;
+        private final long acceptedPosts;
+        private final long failedPosts;
+        private final long deliveredFrames;
+        private final long[] postNanos;
+        private final long[] deliveryNanos;
+
+        LoadReport(int drivers, int subscribers, double seconds, long acceptedPosts, long failedPosts,
+                long deliveredFrames, long[] postNanos, long[] deliveryNanos) {
+            this.drivers = drivers;
+            this.subscribers = subscribers;
+            this.seconds = seconds;
+            this.acceptedPosts = acceptedPosts;
+            this.failedPosts = failedPosts;
+            this.deliveredFrames = deliveredFrames;
+            this.postNanos = postNanos;
+            this.deliveryNanos = deliveryNanos;
+        }
+
+        long getAcceptedPosts() {
+            return acceptedPosts;
+        }
+
+        long getFailedPosts() {
+            return failedPosts;
+        }
+
+        long getDeliveredFrames() {
+            return deliveredFrames;
+        }
+
+        double getDeliveryMillis(double percentile) {
+            return percentileMillis(deliveryNanos, percentile);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT,
+                    "Location load: %d drivers, %d subscribers, %.1f s%n"
+                            + "  ingest:   %d fixes (%.0f/s), %d failed, POST p50 %.1f ms, p99 %.1f ms%n"
+                            + "  delivery: %d frames (%.0f/s), ingest-to-delivery p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    drivers, subscribers, seconds,
+                    acceptedPosts, acceptedPosts / seconds, failedPosts,
+                    percentileMillis(postNanos, 50), percentileMillis(postNanos, 99),
+                    deliveredFrames, deliveredFrames / seconds,
+                    percentileMillis(deliveryNanos, 50), percentileMillis(deliveryNanos, 99),
+                    percentileMillis(deliveryNanos, 100));
+        }
+
+        private static double percentileMillis(long[] sortedNanos, double percentile) {
+            if (sortedNanos.length == 0) {
+                return Double.NaN;
+            }
+            int index = (int) Math.ceil(percentile / 100 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.playschool.management.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Ingest-to-delivery latency and throughput of the live location pipeline on the H2
+ * test profile, see {@link LocationLoadGenerator}.
+ *
+ * Tagged {@code load} and skipped by the default build, as it starts a server and runs
+ * for several seconds. Run it with the {@code load-test} profile, raising the load for a
+ * real measurement, e.g.
+ * {@code mvn test -Pload-test -Dtest=LocationLoadTest -Dloadtest.drivers=2000 -Dloadtest.subscribers=20 -Dloadtest.duration-seconds=60},
+ * and set {@code -Dloadtest.max-p99-ms} to the latency budget to guard.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class LocationLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationLoadTest.class);
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void reportsIngestToDeliveryLatency() throws Exception {
+        int drivers = Integer.getInteger("loadtest.drivers", 50);
+        int subscribers = Integer.getInteger("loadtest.subscribers", 2);
+        long fixIntervalMillis = Long.getLong("loadtest.fix-interval-ms", 1000);
+        Duration warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 2));
+        Duration duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 6));
+        long maxP99Millis = Long.getLong("loadtest.max-p99-ms", 10_000);
+
+        LocationLoadGenerator.LoadReport report = new LocationLoadGenerator("http://localhost:" + port,
+                drivers, subscribers, fixIntervalMillis, warmup, duration).run();
+
+        log.info("{}", report);
+
+        assertEquals(0, report.getFailedPosts(), "failed location posts");
+        assertTrue(report.getDeliveredFrames() > 0, "no location frames delivered");
+        // Fixes wait for the broadcast tick (500 ms by default); far beyond that means a backlog
+        assertTrue(report.getDeliveryMillis(99) < maxP99Millis, "p99 delivery latency " + report.getDeliveryMillis(99) + " ms");
+    }
+}
@@ -0,0 +1,116 @@
+package com.playschool.management.security.crypto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Picks the BCrypt work factor ({@code security.bcrypt.strength}) for a target hashing
+ * latency on the machine running the build, and checks the admission control of
+ * {@link BoundedPasswordEncoder}.
+ *
+ * The work factor search is tagged {@code load}; run it on production hardware with
+ * the budget to aim for, e.g.
+ * {@code mvn test -Pload-test -Dtest=BcryptWorkFactorBenchmarkTest -Dbcrypt.target-ms=250}.
+ */
+class BcryptWorkFactorBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(BcryptWorkFactorBenchmarkTest.class);
+
+    private static final int MIN_STRENGTH = 4;
+    private static final int MAX_STRENGTH = 14;
+    private static final int SAMPLES = 3;
+
+    @Test
+    @Tag("load")
+    void picksWorkFactorForTargetLatency() {
+        long targetMillis = Long.getLong("bcrypt.target-ms", 250);
+
+        int recommended = MIN_STRENGTH;
+        for (int strength = MIN_STRENGTH; strength <= MAX_STRENGTH; strength++) {
+            double medianMillis = medianEncodeMillis(new BCryptPasswordEncoder(strength));
+            log.info("BCrypt strength {}: {} ms per hash", strength, String.format("%.1f", medianMillis));
+            if (medianMillis > targetMillis) {
+                break;
+            }
+            recommended = strength;
+        }
+        log.info("Recommended security.bcrypt.strength={} for a {} ms target ({} cores)",
+                recommended, targetMillis, Runtime.getRuntime().availableProcessors());
+
+        assertTrue(recommended >= MIN_STRENGTH);
+    }
+
+    @Test
+    void rejectsBeyondQueueCapacity() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return rawPassword.toString().equals(encodedPassword);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(blocking, 1, 1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One hash running, one queued: the pool and its queue are full
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (encoder.getQueuedCount() == 0) {
+                Thread.sleep(1);
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+            assertEquals(1, encoder.getRejectedCount());
+
+            release.countDown();
+            assertEquals("a", running.get(10, TimeUnit.SECONDS));
+            assertEquals("b", queued.get(10, TimeUnit.SECONDS));
+            assertEquals(2, encoder.getCompletedCount());
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+            encoder.shutdown();
+        }
+    }
+
+    private static double medianEncodeMillis(PasswordEncoder encoder) {
+        // Warm-up hash, not timed
+        encoder.encode("warm-up-password");
+        double[] samples = new double[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long started = System.nanoTime();
+            encoder.encode("correct horse battery staple " + i);
+            samples[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,72 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+
+import com.playschool.management.dto.dashboard.DriverBookingSummaryDto;
+
+/**
+ * {@link DriverService#getActiveBookings} must read only the requested driver's first
+ * {@code limit} active bookings, however busy the rest of the fleet is.
+ */
+class DriverActiveBookingsQueryTest extends DriverQueryTestSupport {
+
+    private static final int OTHER_DRIVERS = 20;
+    private static final int ACTIVE_PER_DRIVER = 25;
+    private static final int LIMIT = 5;
+
+    @Test
+    void readsOnlyTheDriversFirstActiveBookings() {
+        String[] driver = insertDriver("active-bookings");
+        String driverId = driver[0];
+        String userId = driver[1];
+        List<Object[]> rows = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        String[] statuses = { "CONFIRMED", "PICKED_UP", "IN_TRANSIT", "DELIVERED", "CANCELLED" };
+        for (int i = 0; i < ACTIVE_PER_DRIVER * statuses.length / 3; i++) {
+            // Descending pickup times so the database, not insertion order, has to sort
+            rows.add(booking(driverId, i, statuses[i % statuses.length], null, base.minusHours(i), null));
+        }
+        for (int d = 0; d < OTHER_DRIVERS; d++) {
+            String otherDriverId = UUID.randomUUID().toString();
+            for (int i = 0; i < ACTIVE_PER_DRIVER; i++) {
+                rows.add(booking(otherDriverId, i, "CONFIRMED", null, base.minusDays(30), null));
+            }
+        }
+        insertBookings(rows);
+
+        Statistics statistics = statistics();
+        statistics.clear();
+        List<DriverBookingSummaryDto> bookings = driverService.getActiveBookings(userId, LIMIT);
+
+        long rowsRead = 0;
+        for (String query : statistics.getQueries()) {
+            if (query.toLowerCase().contains("from booking")) {
+                QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+                rowsRead += queryStatistics.getExecutionRowCount();
+            }
+        }
+        assertEquals(LIMIT, rowsRead, "booking rows read for one driver's dashboard");
+        assertEquals(LIMIT, statistics.getEntityLoadCount() - 1, "entities loaded besides the driver");
+
+        assertEquals(LIMIT, bookings.size());
+        for (int i = 1; i < bookings.size(); i++) {
+            assertTrue(!bookings.get(i).getPickupTime().isBefore(bookings.get(i - 1).getPickupTime()),
+                    "bookings not in pickup order");
+        }
+        bookings.forEach(booking -> assertTrue(List.of("CONFIRMED", "PICKED_UP", "IN_TRANSIT").contains(booking.getStatus())));
+
+        Integer indexes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES "
+                + "WHERE UPPER(INDEX_NAME) = 'IDX_BOOKINGS_DRIVER_STATUS_PICKUP'", Integer.class);
+        assertEquals(1, indexes);
+    }
+}
@@ -0,0 +1,131 @@
+package com.playschool.management.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import com.playschool.management.dto.dashboard.DriverDashboardStatsDto;
+import com.playschool.management.service.earnings.EarningsRollupService;
+
+/**
+ * Cost of {@link DriverService#getDashboardStats} as a driver's booking history grows
+ * from {@value #SMALL_HISTORY} to {@value #LARGE_HISTORY} trips: the number of
+ * statements and loaded entities per call must not change, and the call time must
+ * stay roughly flat. The timing check is tagged {@code load} and only runs with
+ * {@code mvn test -Pload-test -Dtest=DriverDashboardStatsBenchmarkTest}.
+ */
+class DriverDashboardStatsBenchmarkTest extends DriverQueryTestSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(DriverDashboardStatsBenchmarkTest.class);
+
+    private static final int SMALL_HISTORY = 200;
+    private static final int LARGE_HISTORY = 4_000;
+    private static final int COUNTED_CALLS = 3;
+    private static final int TIMED_CALLS = 30;
+
+    @Autowired
+    private EarningsRollupService earningsRollupService;
+
+    @Test
+    void statementsStayFlatAsHistoryGrows() {
+        String[] driver = insertDriver("stats-count");
+        Statistics statistics = statistics();
+
+        seedHistory(driver[0], 0, SMALL_HISTORY);
+        Sample small = measure(driver[1], SMALL_HISTORY, statistics, COUNTED_CALLS);
+        seedHistory(driver[0], SMALL_HISTORY, LARGE_HISTORY);
+        Sample large = measure(driver[1], LARGE_HISTORY, statistics, COUNTED_CALLS);
+
+        // One in four bookings is delivered today for 100.00, one in four is in transit
+        assertEquals(LARGE_HISTORY / 4 * 100.0, large.stats.getTotalEarnings(), 0.001);
+        assertEquals(LARGE_HISTORY / 4 * 100.0, large.stats.getTodayEarnings(), 0.001);
+        assertEquals(LARGE_HISTORY / 4, large.stats.getActiveBookings());
+
+        assertEquals(small.statements, large.statements, "statements per call grew with history");
+        assertEquals(small.entities, large.entities, "entities loaded per call grew with history");
+    }
+
+    @Test
+    @Tag("load")
+    void callTimeStaysFlatAsHistoryGrows() {
+        String[] driver = insertDriver("stats-bench");
+        Statistics statistics = statistics();
+
+        seedHistory(driver[0], 0, SMALL_HISTORY);
+        Sample small = measure(driver[1], SMALL_HISTORY, statistics, TIMED_CALLS);
+        seedHistory(driver[0], SMALL_HISTORY, LARGE_HISTORY);
+        Sample large = measure(driver[1], LARGE_HISTORY, statistics, TIMED_CALLS);
+
+        for (Sample sample : List.of(small, large)) {
+            log.info("Driver dashboard stats: {} bookings -> {} ms, {} statements, {} entities per call", sample.history,
+                    String.format("%.2f", sample.medianMillis), sample.statements, sample.entities);
+        }
+        assertTrue(large.medianMillis < small.medianMillis * 5 + 20,
+                "call time grew from " + small.medianMillis + " ms to " + large.medianMillis + " ms");
+    }
+
+    private Sample measure(String userId, int history, Statistics statistics, int calls) {
+        for (int i = 0; i < 5; i++) {
+            driverService.getDashboardStats(userId);
+        }
+        statistics.clear();
+        double[] millis = new double[calls];
+        DriverDashboardStatsDto stats = null;
+        for (int i = 0; i < calls; i++) {
+            long started = System.nanoTime();
+            stats = driverService.getDashboardStats(userId);
+            millis[i] = (System.nanoTime() - started) / 1_000_000.0;
+        }
+        Arrays.sort(millis);
+        return new Sample(history, millis[calls / 2], statistics.getPrepareStatementCount() / calls,
+                statistics.getEntityLoadCount() / calls, stats);
+    }
+
+    private void seedHistory(String driverId, int from, int to) {
+        LocalDateTime today = LocalDate.now().atTime(9, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            String status = switch (i % 4) {
+                case 0 -> "DELIVERED";
+                case 1 -> "IN_TRANSIT";
+                case 2 -> "CANCELLED";
+                default -> "PENDING";
+            };
+            LocalDateTime pickup = today.minusDays(i % 4 == 1 ? 0 : 1 + i % 300);
+            rows.add(booking(driverId, i, status, new BigDecimal("100.00"), pickup, i % 4 == 0 ? today : null));
+        }
+        insertBookings(rows);
+        // Plain SQL inserts bypass the booking listener that keeps daily_earnings current
+        earningsRollupService.rebuild();
+    }
+
+    private static final class Sample {
+
+        private final int history;
+        private final double medianMillis;
+        private final long statements;
+        private final long entities;
+        private final DriverDashboardStatsDto stats;
+
+        Sample(int history, double medianMillis, long statements, long entities, DriverDashboardStatsDto stats) {
+            this.history = history;
+            this.medianMillis = medianMillis;
+            this.statements = statements;
+            this.entities = entities;
+            this.stats = stats;
+        }
+    }
+}
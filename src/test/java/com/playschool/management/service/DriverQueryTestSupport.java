@@ -0,0 +1,72 @@
+package com.playschool.management.service;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Shared context and seeding for tests that count what the driver dashboard queries
+ * read. Rows go in with plain SQL so thousands of bookings seed quickly; that bypasses
+ * the booking listener, so tests reading earnings rebuild the daily rollup afterwards.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+abstract class DriverQueryTestSupport {
+
+    private static final String INSERT_BOOKING = "INSERT INTO bookings (id, booking_number, customer_id, vehicle_id, "
+            + "driver_id, status, pricing_final_amount, scheduled_pickup_date, actual_delivery_time) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    protected DriverService driverService;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Inserts a driver with a fresh id.
+     *
+     * @return the driver's id and user id, in that order
+     */
+    protected String[] insertDriver(String userPrefix) {
+        String driverId = UUID.randomUUID().toString();
+        String userId = userPrefix + "-" + driverId.substring(0, 8);
+        jdbcTemplate.update("INSERT INTO drivers (id, user_id, email, first_name, last_name, father_name, phone_number, "
+                + "profile_photo, blood_group, date_of_birth, password) VALUES (?, ?, ?, 'Test', 'Driver', 'Test', ?, '-', 'O+', "
+                + "DATE '1990-01-01', '-')", driverId, userId, userId + "@example.com", "9" + Math.abs(driverId.hashCode()));
+        return new String[] { driverId, userId };
+    }
+
+    /**
+     * One bookings row for {@link #insertBookings}; amount and times may be null.
+     */
+    protected static Object[] booking(String driverId, int number, String status, BigDecimal finalAmount,
+            LocalDateTime scheduledPickup, LocalDateTime deliveredAt) {
+        return new Object[] { UUID.randomUUID().toString(), "TB-" + driverId.substring(0, 8) + "-" + number,
+                "test-customer", "test-vehicle", driverId, status, finalAmount,
+                scheduledPickup != null ? Timestamp.valueOf(scheduledPickup) : null,
+                deliveredAt != null ? Timestamp.valueOf(deliveredAt) : null };
+    }
+
+    protected void insertBookings(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate(INSERT_BOOKING, rows);
+    }
+
+    protected Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
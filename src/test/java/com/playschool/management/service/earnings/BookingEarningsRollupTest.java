@@ -0,0 +1,166 @@
+package com.playschool.management.service.earnings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.playschool.management.entity.Booking;
+import com.playschool.management.repository.BookingRepository;
+
+/**
+ * daily_earnings follows a driver's bookings through delivery, a fare change, a moved
+ * delivery day and deletion, and after every step matches what
+ * {@link EarningsRollupService#rebuild()} computes from the bookings table.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BookingEarningsRollupTest {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 3, 10);
+    private static final LocalDate SECOND_DAY = FIRST_DAY.plusDays(1);
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EarningsRollupService earningsRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void rollupFollowsBookingChanges() {
+        String driverId = UUID.randomUUID().toString();
+        String ownerId = "rollup-owner-" + driverId.substring(0, 8);
+
+        String bookingId = deliver(driverId, ownerId, "1500.00", FIRST_DAY.atTime(10, 0));
+        deliver(driverId, ownerId, "500.00", FIRST_DAY.atTime(16, 30));
+        assertRows(driverId, Map.of(FIRST_DAY, "2000 x2"));
+
+        change(bookingId, booking -> booking.getPricing().setFinalAmount(new BigDecimal("1750.50")));
+        assertRows(driverId, Map.of(FIRST_DAY, "2250.5 x2"));
+
+        change(bookingId, booking -> booking.setActualDeliveryTime(SECOND_DAY.atTime(9, 15)));
+        assertRows(driverId, Map.of(FIRST_DAY, "500 x1", SECOND_DAY, "1750.5 x1"));
+
+        transactionTemplate.executeWithoutResult(status -> bookingRepository.delete(bookingRepository.findById(bookingId).orElseThrow()));
+        assertRows(driverId, Map.of(FIRST_DAY, "500 x1"));
+    }
+
+    @Test
+    void overlappingDeliveriesCountOnce() throws Exception {
+        String driverId = UUID.randomUUID().toString();
+        String bookingId = deliver(driverId, "rollup-owner", "1200.00", FIRST_DAY.atTime(11, 0));
+        change(bookingId, booking -> booking.setStatus(Booking.BookingStatus.IN_TRANSIT));
+        assertRows(driverId, Map.of());
+
+        // Both transactions load the booking in transit; the second flushes after the first commits
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch firstCommitted = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> second = executor.submit(() -> change(bookingId, booking -> {
+                booking.setStatus(Booking.BookingStatus.DELIVERED);
+                loaded.countDown();
+                await(firstCommitted);
+            }));
+            await(loaded);
+            change(bookingId, booking -> booking.setStatus(Booking.BookingStatus.DELIVERED));
+            firstCommitted.countDown();
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        assertRows(driverId, Map.of(FIRST_DAY, "1200 x1"));
+    }
+
+    @Test
+    void snapshotStaysOutOfBookingJson() {
+        String driverId = UUID.randomUUID().toString();
+        String bookingId = deliver(driverId, "rollup-owner", "900.00", FIRST_DAY.atTime(12, 0));
+        // Serialized inside the transaction, as the controllers do with open-in-view
+        String json = transactionTemplate.execute(status -> {
+            try {
+                return objectMapper.writeValueAsString(bookingRepository.findById(bookingId).orElseThrow());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertFalse(json.contains("earningsSnapshot"), json);
+    }
+
+    private String deliver(String driverId, String ownerId, String amount, LocalDateTime deliveredAt) {
+        Booking booking = new Booking();
+        booking.setBookingNumber("ER-" + UUID.randomUUID());
+        booking.setCustomerId("rollup-customer");
+        booking.setVehicleId("rollup-vehicle");
+        booking.setDriverId(driverId);
+        booking.setOwnerId(ownerId);
+        booking.setStatus(Booking.BookingStatus.DELIVERED);
+        booking.setActualDeliveryTime(deliveredAt);
+        Booking.PricingDetails pricing = new Booking.PricingDetails();
+        pricing.setFinalAmount(new BigDecimal(amount));
+        booking.setPricing(pricing);
+        return transactionTemplate.execute(status -> bookingRepository.save(booking).getId());
+    }
+
+    // Loads the booking in its own transaction, as a request would, so the listener sees its stored contribution
+    private void change(String bookingId, Consumer<Booking> change) {
+        transactionTemplate.executeWithoutResult(status -> change.accept(bookingRepository.findById(bookingId).orElseThrow()));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void assertRows(String driverId, Map<LocalDate, String> expected) {
+        assertEquals(new TreeMap<>(expected), rows(driverId), "rollup kept by the booking listener");
+        earningsRollupService.rebuild();
+        assertEquals(new TreeMap<>(expected), rows(driverId), "rollup rebuilt from bookings");
+    }
+
+    // Days whose bookings all moved away keep an empty row until the next rebuild; skip those
+    private Map<LocalDate, String> rows(String driverId) {
+        Map<LocalDate, String> rows = new TreeMap<>();
+        jdbcTemplate.query("SELECT earnings_date, amount, trips FROM daily_earnings WHERE driver_id = ? AND trips <> 0",
+                rs -> {
+                    rows.put(rs.getDate("earnings_date").toLocalDate(),
+                            rs.getBigDecimal("amount").stripTrailingZeros().toPlainString() + " x" + rs.getLong("trips"));
+                }, driverId);
+        return rows;
+    }
+}
@@ -0,0 +1,105 @@
+package com.playschool.management.service.earnings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.playschool.management.service.earnings.TimeBuckets.Granularity;
+
+class TimeBucketsTest {
+
+    private static final DateTimeFormatter DAY_LABEL = DateTimeFormatter.ofPattern("dd MMM");
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("MMM yyyy");
+
+    @Test
+    void dayBucketsHoldOneDayEach() {
+        LocalDate from = LocalDate.of(2024, 2, 27);
+        TimeBuckets buckets = new TimeBuckets(from, from.plusDays(3), Granularity.DAY);
+        buckets.add(LocalDate.of(2024, 2, 29), 100, 1);
+        buckets.add(LocalDate.of(2024, 2, 29), 50, 2);
+        buckets.add(LocalDate.of(2024, 3, 1), 25, 1);
+
+        assertEquals(4, buckets.size());
+        assertEquals(from, buckets.getFrom());
+        assertEquals(List.of(0.0, 0.0, 150.0, 25.0), buckets.amounts());
+        assertEquals(List.of(0L, 0L, 3L, 1L), buckets.counts());
+        assertEquals(labels(DAY_LABEL, "2024-02-27", "2024-02-28", "2024-02-29", "2024-03-01"), buckets.labels());
+    }
+
+    @Test
+    void weekBucketsStartOnIsoMonday() {
+        // Thursday 1 Jan 2026 falls in the ISO week starting Monday 29 Dec 2025
+        TimeBuckets buckets = new TimeBuckets(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 12), Granularity.WEEK);
+        buckets.add(LocalDate.of(2025, 12, 29), 10, 1);
+        buckets.add(LocalDate.of(2026, 1, 4), 20, 1);
+        buckets.add(LocalDate.of(2026, 1, 5), 40, 1);
+        buckets.add(LocalDate.of(2026, 1, 12), 80, 1);
+
+        assertEquals(LocalDate.of(2025, 12, 29), buckets.getFrom());
+        assertEquals(3, buckets.size());
+        assertEquals(List.of(30.0, 40.0, 80.0), buckets.amounts());
+        assertEquals(List.of(2L, 1L, 1L), buckets.counts());
+        assertEquals(labels(DAY_LABEL, "2025-12-29", "2026-01-05", "2026-01-12"), buckets.labels());
+    }
+
+    @Test
+    void monthBucketsCrossTheYear() {
+        TimeBuckets buckets = new TimeBuckets(LocalDate.of(2024, 11, 15), LocalDate.of(2025, 2, 10), Granularity.MONTH);
+        buckets.add(LocalDate.of(2024, 11, 1), 5, 1);
+        buckets.add(LocalDate.of(2024, 12, 31), 7, 1);
+        buckets.add(LocalDate.of(2025, 1, 1), 11, 1);
+        buckets.add(LocalDate.of(2025, 2, 10), 13, 1);
+
+        assertEquals(LocalDate.of(2024, 11, 1), buckets.getFrom());
+        assertEquals(4, buckets.size());
+        assertEquals(List.of(5.0, 7.0, 11.0, 13.0), buckets.amounts());
+        assertEquals(labels(MONTH_LABEL, "2024-11-01", "2024-12-01", "2025-01-01", "2025-02-01"), buckets.labels());
+    }
+
+    @Test
+    void ignoresDatesOutsideTheRange() {
+        TimeBuckets buckets = new TimeBuckets(LocalDate.of(2024, 5, 10), LocalDate.of(2024, 6, 20), Granularity.MONTH);
+        buckets.add(LocalDate.of(2024, 4, 30), 100, 1);
+        // Past the range end, though inside the last bucket's month
+        buckets.add(LocalDate.of(2024, 6, 21), 100, 1);
+        // Before the requested start but inside the aligned first bucket
+        buckets.add(LocalDate.of(2024, 5, 3), 1, 1);
+
+        assertEquals(List.of(1.0, 0.0), buckets.amounts());
+        assertEquals(List.of(1L, 0L), buckets.counts());
+    }
+
+    @Test
+    void rejectsRangesOverMaxBuckets() {
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        assertEquals(TimeBuckets.MAX_BUCKETS,
+                new TimeBuckets(from, from.plusDays(TimeBuckets.MAX_BUCKETS - 1L), Granularity.DAY).size());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBuckets(from, from.plusDays(TimeBuckets.MAX_BUCKETS), Granularity.DAY));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TimeBuckets(from, from.plusMonths(TimeBuckets.MAX_BUCKETS), Granularity.MONTH));
+        assertThrows(IllegalArgumentException.class, () -> new TimeBuckets(from, from.minusDays(1), Granularity.DAY));
+    }
+
+    @Test
+    void parsesGranularityAndRangeStart() {
+        assertEquals(Granularity.WEEK, Granularity.parse(" Week "));
+        assertThrows(IllegalArgumentException.class, () -> Granularity.parse("hour"));
+
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        assertEquals(LocalDate.of(2025, 3, 25), Granularity.DAY.rangeStart(to, 7));
+        assertEquals(LocalDate.of(2025, 3, 3), Granularity.WEEK.rangeStart(to, 5));
+        assertEquals(LocalDate.of(2024, 4, 30), Granularity.MONTH.rangeStart(to, 12));
+    }
+
+    private static List<String> labels(DateTimeFormatter format, String... dates) {
+        return Arrays.stream(dates).map(date -> LocalDate.parse(date).format(format)).toList();
+    }
+}
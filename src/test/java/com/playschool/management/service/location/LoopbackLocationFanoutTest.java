@@ -0,0 +1,75 @@
+package com.playschool.management.service.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.dto.DriverLocation;
+import com.playschool.management.service.NotificationService;
+
+/**
+ * Two loopback nodes on one bus: the application context, and a second fanout the
+ * test attaches to the context's bus to stand in for another instance.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LoopbackLocationFanoutTest {
+
+    @Autowired
+    private LoopbackLocationBus bus;
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private DriverPositionStore positionStore;
+
+    @Test
+    void deliversBatchesToTheOtherNodeOnly() throws InterruptedException {
+        List<List<DriverLocation>> receivedByPeer = new CopyOnWriteArrayList<>();
+        LoopbackLocationFanout peer = new LoopbackLocationFanout(bus);
+        peer.setListener(receivedByPeer::add);
+        try {
+            // Peer publishes: the context's listener broadcasts it and fills its position store
+            DriverLocation remote = new DriverLocation("remote-" + UUID.randomUUID(), 12.97, 77.59);
+            long remoteFramesBefore = notificationService.getRemoteFrames();
+            peer.publish(List.of(remote));
+
+            DriverLocation stored = positionStore.get(remote.getDriverId());
+            assertNotNull(stored, "remote fix missing from the context's position store");
+            assertEquals(remote.getLatitude(), stored.getLatitude());
+            assertEquals(remote.getLongitude(), stored.getLongitude());
+            assertEquals(remoteFramesBefore + 1, notificationService.getRemoteFrames());
+            assertTrue(receivedByPeer.isEmpty(), "peer received its own batch");
+
+            // Context publishes on its flush tick: the peer gets the batch, the context does not
+            DriverLocation local = new DriverLocation("local-" + UUID.randomUUID(), 13.08, 80.27);
+            long remoteFramesBeforeLocal = notificationService.getRemoteFrames();
+            notificationService.broadcastLocation(local);
+            notificationService.flushPendingLocations();
+            long deadline = System.currentTimeMillis() + 5_000;
+            while (receivedByPeer.isEmpty() && System.currentTimeMillis() < deadline) {
+                // The scheduled flush may have taken the fix and be publishing it
+                Thread.sleep(10);
+            }
+
+            assertEquals(1, receivedByPeer.size(), "batches received by the peer");
+            List<DriverLocation> batch = receivedByPeer.get(0);
+            assertEquals(1, batch.size());
+            assertEquals(local.getDriverId(), batch.get(0).getDriverId());
+            assertEquals(remoteFramesBeforeLocal, notificationService.getRemoteFrames(),
+                    "context received its own batch");
+        } finally {
+            peer.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.playschool.management.service.location;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compression ratio and per-point cost of {@link TrailSimplifier} on a synthetic
+ * 10-hour intercity haul sampled every 2 seconds (18k fixes) with GPS noise, bends
+ * and traffic stops.
+ */
+class TrailSimplifierBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(TrailSimplifierBenchmarkTest.class);
+
+    private static final double TOLERANCE_METERS = 10;
+    private static final int MAX_WINDOW = 32;
+    private static final long MAX_HOLD_MILLIS = 30_000;
+    private static final int POINTS = 18_000;
+    private static final long INTERVAL_MILLIS = 2_000;
+    private static final double METERS_PER_DEGREE = GeoUtils.KM_PER_DEGREE_LATITUDE * 1000;
+
+    @Test
+    void compressesHaulWithinTolerance() {
+        double[][] haul = syntheticHaul(new Random(42));
+
+        // Warm up before timing
+        for (int round = 0; round < 20; round++) {
+            simplify(haul, null);
+        }
+        int rounds = 50;
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            simplify(haul, null);
+        }
+        double nanosPerPoint = (System.nanoTime() - started) / (double) (rounds * POINTS);
+
+        List<double[]> kept = new ArrayList<>();
+        simplify(haul, kept);
+        double ratio = POINTS / (double) kept.size();
+        double maxErrorMeters = maxDeviation(haul, kept);
+
+        log.info("Trail simplifier: {} -> {} points ({}x), {} ns/point, max deviation {} m", POINTS, kept.size(),
+                String.format("%.1f", ratio), String.format("%.1f", nanosPerPoint), String.format("%.2f", maxErrorMeters));
+
+        assertTrue(ratio > 5, "expected at least 5x compression, got " + ratio);
+        assertTrue(maxErrorMeters <= TOLERANCE_METERS * 1.01, "deviation above tolerance: " + maxErrorMeters);
+    }
+
+    private static void simplify(double[][] haul, List<double[]> kept) {
+        TrailSimplifier simplifier = new TrailSimplifier(TOLERANCE_METERS, MAX_WINDOW, MAX_HOLD_MILLIS);
+        for (double[] point : haul) {
+            if (simplifier.offer((long) point[0], point[1], point[2]) && kept != null) {
+                kept.add(new double[] { simplifier.getKeptMillis(), simplifier.getKeptLatitude(), simplifier.getKeptLongitude() });
+            }
+        }
+        if (simplifier.flush() && kept != null) {
+            kept.add(new double[] { simplifier.getKeptMillis(), simplifier.getKeptLatitude(), simplifier.getKeptLongitude() });
+        }
+    }
+
+    /**
+     * Straight stretches with occasional bends and stops at 0-80 km/h, plus ~3 m GPS noise.
+     */
+    private static double[][] syntheticHaul(Random random) {
+        double[][] haul = new double[POINTS][];
+        double latitude = 12.97;
+        double longitude = 77.59;
+        double heading = Math.toRadians(20);
+        double turnRate = 0;
+        double speed = 16;
+        int stopRemaining = 0;
+        long time = 1_700_000_000_000L;
+        for (int i = 0; i < POINTS; i++) {
+            if (stopRemaining > 0) {
+                stopRemaining--;
+            } else {
+                if (random.nextDouble() < 0.002) {
+                    stopRemaining = 15 + random.nextInt(60);
+                }
+                if (random.nextDouble() < 0.01) {
+                    turnRate = random.nextDouble() < 0.5 ? 0 : Math.toRadians(random.nextGaussian() * 4);
+                }
+                speed = Math.max(3, Math.min(22, speed + random.nextGaussian() * 0.5));
+                heading += turnRate;
+                double step = speed * INTERVAL_MILLIS / 1000.0;
+                latitude += step * Math.cos(heading) / METERS_PER_DEGREE;
+                longitude += step * Math.sin(heading) / (METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude)));
+            }
+            double noiseLatitude = random.nextGaussian() * 3 / METERS_PER_DEGREE;
+            double noiseLongitude = random.nextGaussian() * 3 / (METERS_PER_DEGREE * Math.cos(Math.toRadians(latitude)));
+            haul[i] = new double[] { time, latitude + noiseLatitude, longitude + noiseLongitude };
+            time += INTERVAL_MILLIS;
+        }
+        return haul;
+    }
+
+    /**
+     * Largest distance from an original fix to the kept segment spanning its timestamp.
+     */
+    private static double maxDeviation(double[][] haul, List<double[]> kept) {
+        double max = 0;
+        int segment = 0;
+        for (double[] point : haul) {
+            while (segment < kept.size() - 2 && kept.get(segment + 1)[0] < point[0]) {
+                segment++;
+            }
+            double[] start = kept.get(segment);
+            double[] end = kept.get(Math.min(segment + 1, kept.size() - 1));
+            max = Math.max(max, distanceToSegment(point, start, end));
+        }
+        return max;
+    }
+
+    private static double distanceToSegment(double[] point, double[] start, double[] end) {
+        double metersPerDegreeLongitude = METERS_PER_DEGREE * Math.cos(Math.toRadians(start[1]));
+        double px = (point[2] - start[2]) * metersPerDegreeLongitude;
+        double py = (point[1] - start[1]) * METERS_PER_DEGREE;
+        double ex = (end[2] - start[2]) * metersPerDegreeLongitude;
+        double ey = (end[1] - start[1]) * METERS_PER_DEGREE;
+        double lengthSquared = ex * ex + ey * ey;
+        double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, (px * ex + py * ey) / lengthSquared));
+        double dx = px - t * ex;
+        double dy = py - t * ey;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,63 @@
+package com.playschool.management.service.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.playschool.management.dto.DriverLocation;
+
+/**
+ * An offline buffer uploaded after a live fix is older than the trail's newest point;
+ * it must still be stored, as its own run, rather than simplified against the live fix.
+ */
+class TripTrailRecorderTest {
+
+    private static final String BOOKING_ID = "trail-test";
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 1, 8, 0);
+    private static final double STEP_DEGREES = 0.001;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void storesFixesOlderThanTheLiveOneAsTheirOwnRun() throws Exception {
+        TripTrailRecorder recorder = new TripTrailRecorder(directory.toString(), 600_000, 10, 32, 3_600_000);
+
+        // Live fix after reconnecting, in line with the start of the offline stretch: joined
+        // to it, the buffer's first fix would look like a point on a straight run and be dropped
+        recorder.record(BOOKING_ID, fix(START.plusHours(1), 12.90, 77.49));
+        // Offline buffer: east for 10 fixes, then north for 10 (one bend)
+        for (int i = 0; i <= 20; i++) {
+            double latitude = 12.90 + Math.max(0, i - 10) * STEP_DEGREES;
+            double longitude = 77.50 + Math.min(i, 10) * STEP_DEGREES;
+            recorder.record(BOOKING_ID, fix(START.plusSeconds(10L * i), latitude, longitude));
+        }
+        recorder.closeAll();
+
+        List<Long> stored = new ArrayList<>();
+        try (TrailReader reader = recorder.openReader(BOOKING_ID)) {
+            while (reader.advance()) {
+                stored.add(reader.getEpochMillis());
+            }
+        }
+        // The live fix, then the buffer's start, bend and end
+        assertEquals(List.of(millis(START.plusHours(1)), millis(START), millis(START.plusSeconds(100)),
+                millis(START.plusSeconds(200))), stored);
+    }
+
+    private static DriverLocation fix(LocalDateTime timestamp, double latitude, double longitude) {
+        DriverLocation location = new DriverLocation("trail-driver", latitude, longitude);
+        location.setTimestamp(timestamp);
+        return location;
+    }
+
+    private static long millis(LocalDateTime timestamp) {
+        return DriverPositionStore.toEpochMillis(timestamp);
+    }
+}
@@ -0,0 +1,113 @@
+package com.playschool.management.service.location;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.playschool.management.dto.response.NearbyVehicleDto;
+import com.playschool.management.entity.Vehicle;
+
+/**
+ * {@link VehicleSpatialIndex#findNearest} must return exactly what a brute-force scan
+ * of every searchable vehicle returns, for random fleets and queries: a dense city,
+ * a sparse region, a high latitude where cells narrow, and the antimeridian where
+ * columns wrap.
+ */
+class VehicleSpatialIndexTest {
+
+    private static final double CELL_DEGREES = 0.05;
+    private static final double[][] CENTERS = { { 12.97, 77.59 }, { 22.0, 80.0 }, { 64.1, -21.9 }, { -17.7, 179.95 } };
+    private static final double[] SPREAD_DEGREES = { 0.3, 6.0, 1.0, 0.4 };
+
+    private final Random random = new Random(7);
+
+    @Test
+    void nearestMatchesBruteForce() {
+        VehicleSpatialIndex index = new VehicleSpatialIndex(null, null, CELL_DEGREES);
+        List<Vehicle> fleet = new ArrayList<>();
+        for (int i = 0; i < 4_000; i++) {
+            Vehicle vehicle = randomVehicle("V" + i);
+            fleet.add(vehicle);
+            index.update(vehicle);
+        }
+        // Move and retire some vehicles so the cells have to follow
+        for (int i = 0; i < 500; i++) {
+            Vehicle vehicle = fleet.get(random.nextInt(fleet.size()));
+            double[] point = randomPoint();
+            vehicle.setCurrentLatitude(point[0]);
+            vehicle.setCurrentLongitude(point[1]);
+            vehicle.setStatus(random.nextInt(4) == 0 ? Vehicle.VehicleStatus.IN_TRANSIT : Vehicle.VehicleStatus.AVAILABLE);
+            index.update(vehicle);
+        }
+        for (int i = 0; i < 100; i++) {
+            Vehicle vehicle = fleet.remove(random.nextInt(fleet.size()));
+            index.remove(vehicle.getId());
+        }
+
+        int nonEmpty = 0;
+        for (int query = 0; query < 500; query++) {
+            double[] point = randomPoint();
+            double radiusKm = new double[] { 2, 10, 50, 300 }[random.nextInt(4)];
+            int limit = 1 + random.nextInt(20);
+            Vehicle.VehicleType type = random.nextBoolean() ? null
+                    : Vehicle.VehicleType.values()[random.nextInt(Vehicle.VehicleType.values().length)];
+
+            List<NearbyVehicleDto> found = index.findNearest(point[0], point[1], radiusKm, type, limit);
+            List<double[]> expected = bruteForce(fleet, point, radiusKm, type, limit);
+
+            String where = "query " + query + " at " + point[0] + "," + point[1] + " radius " + radiusKm + " limit " + limit;
+            assertEquals(expected.size(), found.size(), where);
+            nonEmpty += found.isEmpty() ? 0 : 1;
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i)[0], found.get(i).getDistanceKm(), 1e-9, where + " rank " + i);
+            }
+        }
+        assertTrue(nonEmpty > 250, "only " + nonEmpty + " queries found a vehicle");
+    }
+
+    // Distances of the nearest searchable vehicles, closest first
+    private static List<double[]> bruteForce(List<Vehicle> fleet, double[] point, double radiusKm,
+            Vehicle.VehicleType type, int limit) {
+        List<double[]> distances = new ArrayList<>();
+        for (Vehicle vehicle : fleet) {
+            if (vehicle.getStatus() != Vehicle.VehicleStatus.AVAILABLE || Boolean.FALSE.equals(vehicle.getIsActive())
+                    || (type != null && vehicle.getVehicleType() != type)) {
+                continue;
+            }
+            double distanceKm = GeoUtils.distanceKm(point[0], point[1], vehicle.getCurrentLatitude(), vehicle.getCurrentLongitude());
+            if (distanceKm <= radiusKm) {
+                distances.add(new double[] { distanceKm });
+            }
+        }
+        distances.sort(Comparator.comparingDouble(distance -> distance[0]));
+        return distances.subList(0, Math.min(limit, distances.size()));
+    }
+
+    private Vehicle randomVehicle(String id) {
+        double[] point = randomPoint();
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setVehicleNumber("KA-" + id);
+        vehicle.setVehicleType(Vehicle.VehicleType.values()[random.nextInt(Vehicle.VehicleType.values().length)]);
+        vehicle.setStatus(random.nextInt(5) == 0 ? Vehicle.VehicleStatus.MAINTENANCE : Vehicle.VehicleStatus.AVAILABLE);
+        vehicle.setIsActive(random.nextInt(20) != 0);
+        vehicle.setCurrentLatitude(point[0]);
+        vehicle.setCurrentLongitude(point[1]);
+        return vehicle;
+    }
+
+    private double[] randomPoint() {
+        int area = random.nextInt(CENTERS.length);
+        double latitude = CENTERS[area][0] + (random.nextDouble() * 2 - 1) * SPREAD_DEGREES[area];
+        double longitude = CENTERS[area][1] + (random.nextDouble() * 2 - 1) * SPREAD_DEGREES[area];
+        // Wrap into [-180, 180) across the antimeridian
+        longitude = ((longitude + 180) % 360 + 360) % 360 - 180;
+        return new double[] { latitude, longitude };
+    }
+}
@@ -0,0 +1,122 @@
+package com.playschool.management.service.onboarding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.playschool.management.dto.response.BulkOnboardingReport;
+import com.playschool.management.dto.response.BulkOnboardingReport.RowResult;
+
+/**
+ * One CSV and one NDJSON upload through {@link BulkOnboardingService}: valid rows are
+ * created with their role rows, and every other row is reported on its own line as
+ * invalid or duplicate without stopping the import.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkOnboardingServiceTest {
+
+    @Autowired
+    private BulkOnboardingService onboardingService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importsCsvAndReportsEachRow() throws IOException {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String csv = String.join("\n",
+                "username,email,password,firstName,lastName,role",
+                "cust" + tag + ",cust" + tag + "@example.com,secret1,Asha,Rao,",
+                "adm" + tag + ",adm" + tag + "@example.com,secret1,Ravi,\"Iyer, Jr\",admin",
+                "cust" + tag + ",other" + tag + "@example.com,secret1,Asha,Rao,customer",
+                "bad" + tag + ",not-an-email,secret1,Bad,Email,customer",
+                "role" + tag + ",role" + tag + "@example.com,secret1,No,Role,pilot",
+                "",
+                "open" + tag + ",\"open" + tag + "@example.com,secret1,Open,Quote,customer");
+
+        BulkOnboardingReport report = importUsers(csv, BulkUserReader.Format.CSV);
+
+        assertRows(report,
+                "2 CREATED", "3 CREATED", "4 DUPLICATE Username repeated in this upload",
+                "5 INVALID email must be a well-formed email address", "6 INVALID Unknown role in [pilot]",
+                "8 INVALID Unterminated quoted field");
+        assertEquals(2, report.getCreated());
+        assertEquals(1, report.getDuplicates());
+        assertEquals(3, report.getInvalid());
+
+        Long customerId = report.getRows().get(0).getUserId();
+        assertNotNull(customerId);
+        assertEquals("ROLE_CUSTOMER", roleOf(customerId));
+        assertEquals(1, count("SELECT COUNT(*) FROM customers WHERE user_id = ?", String.valueOf(customerId)));
+        Long adminId = report.getRows().get(1).getUserId();
+        assertEquals("ROLE_ADMIN", roleOf(adminId));
+        assertEquals("Iyer, Jr", jdbcTemplate.queryForObject("SELECT last_name FROM users WHERE id = ?", String.class, adminId));
+        assertEquals(1, count("SELECT COUNT(*) FROM admins WHERE user_id = ?", adminId));
+
+        // A second upload of the same user is caught against the table, not the upload
+        BulkOnboardingReport again = importUsers(String.join("\n",
+                "username,email,password,firstName,lastName",
+                "cust" + tag + ",new" + tag + "@example.com,secret1,Asha,Rao"), BulkUserReader.Format.CSV);
+        assertRows(again, "2 DUPLICATE Username is already taken");
+    }
+
+    @Test
+    void importsNdjsonAndReportsEachRow() throws IOException {
+        String tag = UUID.randomUUID().toString().substring(0, 8);
+        String ndjson = String.join("\n",
+                "{\"username\":\"nd" + tag + "\",\"email\":\"nd" + tag + "@example.com\",\"password\":\"secret1\","
+                        + "\"firstName\":\"Meera\",\"lastName\":\"Nair\",\"role\":[\"customer\"]}",
+                "null",
+                "{\"username\":",
+                "{\"username\":\"nd2" + tag + "\",\"email\":\"nd" + tag + "@example.com\",\"password\":\"secret1\","
+                        + "\"firstName\":\"Meera\",\"lastName\":\"Nair\"}",
+                "{\"username\":\"x\",\"email\":\"x" + tag + "@example.com\",\"password\":\"secret1\","
+                        + "\"firstName\":\"X\",\"lastName\":\"Y\"}");
+
+        BulkOnboardingReport report = importUsers(ndjson, BulkUserReader.Format.NDJSON);
+
+        assertRows(report,
+                "1 CREATED", "2 INVALID Expected a JSON object", "3 INVALID Malformed JSON",
+                "4 DUPLICATE Email repeated in this upload", "5 INVALID username size must be between 3 and 20");
+        assertEquals("ROLE_CUSTOMER", roleOf(report.getRows().get(0).getUserId()));
+    }
+
+    private BulkOnboardingReport importUsers(String body, BulkUserReader.Format format) throws IOException {
+        return onboardingService.importUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private static void assertRows(BulkOnboardingReport report, String... expected) {
+        assertEquals(List.of(expected), report.getRows().stream().map(BulkOnboardingServiceTest::describe).toList());
+    }
+
+    // Parser messages vary between Jackson versions; keep only their prefix
+    private static String describe(RowResult row) {
+        String message = row.getMessage();
+        if (message == null) {
+            return row.getLine() + " " + row.getStatus();
+        }
+        int detail = message.indexOf(": ");
+        return row.getLine() + " " + row.getStatus() + " " + (detail < 0 ? message : message.substring(0, detail));
+    }
+
+    private String roleOf(Long userId) {
+        return jdbcTemplate.queryForObject("SELECT r.name FROM roles r JOIN user_roles ur ON ur.role_id = r.id "
+                + "WHERE ur.user_id = ?", String.class, userId);
+    }
+
+    private int count(String sql, Object arg) {
+        return jdbcTemplate.queryForObject(sql, Integer.class, arg);
+    }
+}